@@ -6,6 +6,7 @@ import java.nio.file.Paths;
 import java.util.List;
 
 import org.aksw.twig.automaton.data.WordMatrix;
+import org.aksw.twig.statistics.SamplingDiscreteDistributionType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.JSONObject;
@@ -38,6 +39,25 @@ public class Const {
   public static double DISTRIBUTION_CHANCE_DELTA;
   // WordSampler
   public static double TRUNCATE_CHANCE;
+  // WordSampler and TimeCounter: implementation of the sampled distributions, including the minutes
+  // of the tweet times sampled by the Automaton
+  public static SamplingDiscreteDistributionType DISTRIBUTION_TYPE;
+  // WordSampler: build distributions on demand
+  public static boolean WORD_SAMPLER_LAZY;
+  // WordSampler: maximum number of cached distributions if lazy, 0 for no limit
+  public static long WORD_SAMPLER_CACHE_SIZE;
+  // Automaton: build all distributions of a lazy WordSampler in parallel before sampling
+  public static boolean WORD_SAMPLER_PREWARM;
+
+  // Automaton: number of threads simulating users, 1 for sequential simulation
+  public static int AUTOMATON_THREADS;
+  // Automaton: write tweets in order of time when streaming into a file
+  public static boolean AUTOMATON_TIME_ORDERED;
+
+  // NGramMatrixHandler: number of words a context consists of
+  public static int NGRAM_ORDER;
+  // NGramSampler: transitions occurring less often are pruned
+  public static long NGRAM_MIN_COUNT;
 
   /**
    * Loads the config file and inits the constants.
@@ -58,6 +78,15 @@ public class Const {
       MODEL_MAX_SIZE = o.getInt("modelSize");
       DISTRIBUTION_CHANCE_DELTA = o.getDouble("DISTRIBUTION_CHANCE_DELTA");
       TRUNCATE_CHANCE = o.getDouble("TRUNCATE_CHANCE");
+      DISTRIBUTION_TYPE =
+          SamplingDiscreteDistributionType.valueOf(o.optString("DISTRIBUTION_TYPE", "TREE"));
+      WORD_SAMPLER_LAZY = o.optBoolean("WORD_SAMPLER_LAZY", false);
+      WORD_SAMPLER_CACHE_SIZE = o.optLong("WORD_SAMPLER_CACHE_SIZE", 0);
+      WORD_SAMPLER_PREWARM = o.optBoolean("WORD_SAMPLER_PREWARM", false);
+      AUTOMATON_THREADS = o.optInt("AUTOMATON_THREADS", 1);
+      AUTOMATON_TIME_ORDERED = o.optBoolean("AUTOMATON_TIME_ORDERED", false);
+      NGRAM_ORDER = o.optInt("NGRAM_ORDER", 2);
+      NGRAM_MIN_COUNT = o.optLong("NGRAM_MIN_COUNT", 2);
 
     } catch (final IOException e) {
       LOGGER.error(e.getLocalizedMessage());
@@ -3,11 +3,15 @@ package org.aksw.twig;
 import java.util.Arrays;
 
 import org.aksw.twig.automaton.Automaton;
+import org.aksw.twig.automaton.ModelSnapshot;
+import org.aksw.twig.automaton.data.MappedWordMatrix;
 import org.aksw.twig.automaton.data.MessageCounterHandler;
+import org.aksw.twig.automaton.data.NGramMatrixHandler;
 import org.aksw.twig.automaton.data.TimeCounterHandler;
 import org.aksw.twig.automaton.data.WordMatrixHandler;
 import org.aksw.twig.automaton.data.WordSampler;
 import org.aksw.twig.parsing.Twitter7Parser;
+import org.aksw.twig.replay.TweetReplayer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -57,9 +61,30 @@ public class Main {
       case "WordMatrixHandler":
         WordMatrixHandler.main(Arrays.copyOfRange(args, 1, args.length));
         break;
+      case "NGramMatrixHandler":
+        NGramMatrixHandler.main(Arrays.copyOfRange(args, 1, args.length));
+        break;
       case "TimeCounterHandler":
         TimeCounterHandler.main(Arrays.copyOfRange(args, 1, args.length));
         break;
+      /*
+       * converts a word matrix into a memory-mapped one
+       */
+      case "MappedWordMatrix":
+        MappedWordMatrix.main(Arrays.copyOfRange(args, 1, args.length));
+        break;
+      /*
+       * compiles models into a snapshot the automaton can start from immediately
+       */
+      case "ModelSnapshot":
+        ModelSnapshot.main(Arrays.copyOfRange(args, 1, args.length));
+        break;
+      /*
+       * replays tweets at a controlled rate to a sink
+       */
+      case "TweetReplayer":
+        TweetReplayer.main(Arrays.copyOfRange(args, 1, args.length));
+        break;
 
       default:
         LOGGER.info("No argument recognized. To get an overview please use the argument --help.");
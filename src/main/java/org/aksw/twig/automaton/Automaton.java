@@ -6,25 +6,45 @@ import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.Random;
-import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.aksw.twig.Const;
+import org.aksw.twig.automaton.data.MappedWordMatrix;
 import org.aksw.twig.automaton.data.MessageCounter;
+import org.aksw.twig.automaton.data.NGramMatrix;
+import org.aksw.twig.automaton.data.NGramSampler;
 import org.aksw.twig.automaton.data.SamplingWordPredecessorSuccessorDistribution;
 import org.aksw.twig.automaton.data.TimeCounter;
 import org.aksw.twig.automaton.data.WordMatrix;
 import org.aksw.twig.automaton.data.WordSampler;
 import org.aksw.twig.files.FileHandler;
 import org.aksw.twig.model.TWIGModelWrapper;
+import org.aksw.twig.model.TWIGStreamWriter;
+import org.aksw.twig.model.TweetWriter;
 import org.aksw.twig.statistics.SamplingDiscreteDistribution;
+import org.aksw.twig.statistics.SamplingDiscreteIntDistribution;
+import org.aksw.twig.statistics.Xoroshiro128PlusRandom;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -44,22 +64,39 @@ public class Automaton {
 
   private static final String FILE_ENDING = ".ttl";
 
+  private static final String BLOCK_SUFFIX = "_block_";
+
+  /**
+   * Number of consecutive users simulated into one file by
+   * {@link #simulateParallel(int, Duration, LocalDate, long, int)}.
+   */
+  public static final int USER_BLOCK_SIZE = 1000;
+
+  /**
+   * Number of days of the time windows merged one after another by
+   * {@link #timeOrderedIterator(int, Duration, LocalDate, long)}.
+   */
+  public static final int TIME_WINDOW_DAYS = 1;
+
+  private final File resultStoreLocation;
+
   private final FileHandler resultStoreFileHandler;
 
   private final SamplingWordPredecessorSuccessorDistribution samplingWordPredecessorSuccessorDistribution;
 
   private final SamplingDiscreteDistribution<Integer> tweetNumberDistribution;
 
-  private final SamplingDiscreteDistribution<LocalTime> tweetTimeDistribution;
+  private final SamplingDiscreteIntDistribution tweetTimeDistribution;
 
   /**
-   * Creates a new instance setting class variables.
+   * Creates a new instance setting class variables. Sampled times will be extended by uniformly
+   * distributed seconds.
    *
    * @param samplingWordPredecessorSuccessorDistribution Word predecessor-successor distribution
    *        will sample tweets.
    * @param tweetNumberDistribution Tweet number distribution will sample number of tweets per user.
    * @param tweetTimeDistribution Tweet time distribution will sample timestamps of tweets during
-   *        the day.
+   *        the day with minute precision.
    * @param resultStoreLocation Folder to store resulting models in.
    */
   public Automaton(
@@ -67,10 +104,30 @@ public class Automaton {
       final SamplingDiscreteDistribution<Integer> tweetNumberDistribution,
       final SamplingDiscreteDistribution<LocalTime> tweetTimeDistribution,
       final File resultStoreLocation) {
+    this(samplingWordPredecessorSuccessorDistribution, tweetNumberDistribution,
+        new SecondOfDayAdapter(tweetTimeDistribution), resultStoreLocation);
+  }
+
+  /**
+   * Creates a new instance setting class variables.
+   *
+   * @param samplingWordPredecessorSuccessorDistribution Word predecessor-successor distribution
+   *        will sample tweets.
+   * @param tweetNumberDistribution Tweet number distribution will sample number of tweets per user.
+   * @param tweetTimeDistribution Tweet time distribution will sample seconds of the day of tweets,
+   *        see {@link TimeCounter#getSecondOfDayDistribution()}.
+   * @param resultStoreLocation Folder to store resulting models in.
+   */
+  public Automaton(
+      final SamplingWordPredecessorSuccessorDistribution samplingWordPredecessorSuccessorDistribution,
+      final SamplingDiscreteDistribution<Integer> tweetNumberDistribution,
+      final SamplingDiscreteIntDistribution tweetTimeDistribution,
+      final File resultStoreLocation) {
     if (!resultStoreLocation.isDirectory()) {
       throw new IllegalArgumentException("resultStoreLocation is no directory");
     }
 
+    this.resultStoreLocation = resultStoreLocation;
     resultStoreFileHandler = new FileHandler(resultStoreLocation, FILE_NAME, FILE_ENDING);
     this.samplingWordPredecessorSuccessorDistribution =
         samplingWordPredecessorSuccessorDistribution;
@@ -80,8 +137,10 @@ public class Automaton {
 
   /**
    * Generates a TWIG model by using distributions specified in constructor
-   * {@link #Automaton(SamplingWordPredecessorSuccessorDistribution, SamplingDiscreteDistribution, SamplingDiscreteDistribution, File)}
-   * )}.
+   * {@link #Automaton(SamplingWordPredecessorSuccessorDistribution, SamplingDiscreteDistribution, SamplingDiscreteIntDistribution, File)}
+   * )}. Timestamps are handled as seconds since the epoch. All randomness of a user is derived from
+   * {@code seed} and the index of the user, see
+   * {@link #simulateParallel(int, Duration, LocalDate, long, int)}.
    *
    * @param userCount Users to simulate.
    * @param simulationTime Period of time to simulate. Duration will be converted to days.
@@ -95,42 +154,11 @@ public class Automaton {
     LOGGER.info("Starting simulation with {} users over {} days.", userCount,
         simulationTime.toDays());
 
-    final Random r = new Random(seed);
-
-    samplingWordPredecessorSuccessorDistribution.reseedRandomGenerator(seed);
-    tweetNumberDistribution.reseedRandomGenerator(seed);
-    tweetTimeDistribution.reseedRandomGenerator(seed);
-    final int simulationDays = (int) simulationTime.toDays();
-
     final TWIGModelWrapper resultModel = new TWIGModelWrapper();
 
     // for each user
     for (int i = 0; i < userCount; i++) {
-      final User user = new User();
-      final Set<LocalDateTime> timeStamps = new HashSet<>();
-
-      // number of tweet for the user
-      final int tweetCount =
-          (tweetNumberDistribution.sample() * simulationDays) / TWEET_NUMBER_NORMALIZATION_DAYS;
-      LOGGER.info("User {} tweets {} times.", user.getNameAsHexString(), tweetCount);
-
-      for (int d = 0; d < tweetCount; d++) {
-        // find for each tweet a tweet time
-        LocalDateTime tweetTime = null;
-        while ((tweetTime == null) || timeStamps.contains(tweetTime)) {
-          final LocalDate date = startDate.plusDays(r.nextInt(simulationDays));
-          final LocalTime time = tweetTimeDistribution.sample().withSecond(r.nextInt(SECONDS));
-          tweetTime = LocalDateTime.of(date, time);
-        }
-        timeStamps.add(tweetTime);
-
-        // create tweet content
-        final String tweetContent = samplingWordPredecessorSuccessorDistribution.sample();
-
-        // add all to the model
-        resultModel.addTweetNoAnonymization(user.getNameAsHexString(), tweetContent, tweetTime,
-            Collections.emptyList(), seed);
-      }
+      simulateUser(i, simulationTime, startDate, seed, resultModel);
 
       // store created data
       if (resultModel.getModel().size() > Const.MODEL_MAX_SIZE) {
@@ -142,6 +170,251 @@ public class Automaton {
     return resultModel;
   }
 
+  /**
+   * Same as {@link #simulate(int, Duration, LocalDate, long)} but adds all tweets to given writer
+   * instead of collecting them in a model. With a {@link TWIGStreamWriter} the memory needed does
+   * not depend on the number of users.
+   *
+   * @param userCount Users to simulate.
+   * @param simulationTime Period of time to simulate. Duration will be converted to days.
+   * @param startDate Starting date of the simulation period.
+   * @param seed Seed for the random number generator.
+   * @param writer Writer to add the tweets to.
+   */
+  public void simulate(final int userCount, final Duration simulationTime,
+      final LocalDate startDate, final long seed, final TweetWriter writer) {
+
+    LOGGER.info("Starting simulation with {} users over {} days.", userCount,
+        simulationTime.toDays());
+
+    for (int i = 0; i < userCount; i++) {
+      simulateUser(i, simulationTime, startDate, seed, writer);
+    }
+  }
+
+  /**
+   * Runs {@link #simulate(int, Duration, LocalDate, long, TweetWriter)} writing into given file by
+   * a {@link TWIGStreamWriter}, see {@link TWIGStreamWriter#open(File)} for the supported formats.
+   *
+   * @param userCount Users to simulate.
+   * @param simulationTime Period of time to simulate. Duration will be converted to days.
+   * @param startDate Starting date of the simulation period.
+   * @param seed Seed for the random number generator.
+   * @param file File to write into.
+   * @throws IOException Thrown if the file cannot be written.
+   */
+  public void simulateStreaming(final int userCount, final Duration simulationTime,
+      final LocalDate startDate, final long seed, final File file) throws IOException {
+    try (TWIGStreamWriter writer = TWIGStreamWriter.open(file)) {
+      simulate(userCount, simulationTime, startDate, seed, writer);
+    }
+  }
+
+  /**
+   * Returns the tweets of {@link #simulate(int, Duration, LocalDate, long)} in ascending order of
+   * time. Tweets of equal time are ordered by the index of their user. Same as
+   * {@link #timeOrderedIterator(int, Duration, LocalDate, long, int)} with time windows of
+   * {@link #TIME_WINDOW_DAYS} days.
+   *
+   * @param userCount Users to simulate.
+   * @param simulationTime Period of time to simulate. Duration will be converted to days.
+   * @param startDate Starting date of the simulation period.
+   * @param seed Seed for the random number generators.
+   * @return Iterator over all tweets.
+   */
+  public Iterator<Tweet> timeOrderedIterator(final int userCount, final Duration simulationTime,
+      final LocalDate startDate, final long seed) {
+    return timeOrderedIterator(userCount, simulationTime, startDate, seed, TIME_WINDOW_DAYS);
+  }
+
+  /**
+   * Returns the tweets of {@link #simulate(int, Duration, LocalDate, long)} in ascending order of
+   * time. Tweets of equal time are ordered by the index of their user. The tweets are generated
+   * lazily, one time window of {@code windowDays} days after another: For each window every user
+   * regenerates its tweet times from its own random number generator and keeps those within the
+   * window, then the timelines of the window are merged by a priority queue while the contents are
+   * sampled in order of time. So only the tweet times of the active window are held, one
+   * {@code long} per tweet, plus the state of the content generator of each user that has tweeted
+   * before. The returned tweets do not depend on {@code windowDays}, smaller windows need less
+   * memory but sample the tweet times of each user once per window.
+   *
+   * @param userCount Users to simulate.
+   * @param simulationTime Period of time to simulate. Duration will be converted to days.
+   * @param startDate Starting date of the simulation period.
+   * @param seed Seed for the random number generators.
+   * @param windowDays Number of days of each time window.
+   * @return Iterator over all tweets.
+   * @throws IllegalArgumentException Thrown if {@code windowDays} is not positive.
+   */
+  public Iterator<Tweet> timeOrderedIterator(final int userCount, final Duration simulationTime,
+      final LocalDate startDate, final long seed, final int windowDays)
+      throws IllegalArgumentException {
+    if (windowDays < 1) {
+      throw new IllegalArgumentException("Time windows must span at least one day.");
+    }
+    return new TimeOrderedIterator(userCount, simulationTime, startDate, seed, windowDays);
+  }
+
+  /**
+   * Same as {@link #timeOrderedIterator(int, Duration, LocalDate, long)} but returns a sequential
+   * stream.
+   *
+   * @param userCount Users to simulate.
+   * @param simulationTime Period of time to simulate. Duration will be converted to days.
+   * @param startDate Starting date of the simulation period.
+   * @param seed Seed for the random number generators.
+   * @return Stream of all tweets.
+   */
+  public Stream<Tweet> timeOrderedTweets(final int userCount, final Duration simulationTime,
+      final LocalDate startDate, final long seed) {
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(
+            timeOrderedIterator(userCount, simulationTime, startDate, seed),
+            Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
+  }
+
+  /**
+   * Adds all tweets of {@link #timeOrderedIterator(int, Duration, LocalDate, long)} to given
+   * writer.
+   *
+   * @param userCount Users to simulate.
+   * @param simulationTime Period of time to simulate. Duration will be converted to days.
+   * @param startDate Starting date of the simulation period.
+   * @param seed Seed for the random number generators.
+   * @param writer Writer to add the tweets to.
+   */
+  public void simulateTimeOrdered(final int userCount, final Duration simulationTime,
+      final LocalDate startDate, final long seed, final TweetWriter writer) {
+
+    LOGGER.info("Starting time ordered simulation with {} users over {} days.", userCount,
+        simulationTime.toDays());
+
+    final Iterator<Tweet> tweets =
+        timeOrderedIterator(userCount, simulationTime, startDate, seed);
+    while (tweets.hasNext()) {
+      write(tweets.next(), seed, writer);
+    }
+  }
+
+  /**
+   * Runs {@link #simulateTimeOrdered(int, Duration, LocalDate, long, TweetWriter)} writing into
+   * given file by a {@link TWIGStreamWriter}, see {@link TWIGStreamWriter#open(File)} for the
+   * supported formats.
+   *
+   * @param userCount Users to simulate.
+   * @param simulationTime Period of time to simulate. Duration will be converted to days.
+   * @param startDate Starting date of the simulation period.
+   * @param seed Seed for the random number generators.
+   * @param file File to write into.
+   * @throws IOException Thrown if the file cannot be written.
+   */
+  public void simulateTimeOrdered(final int userCount, final Duration simulationTime,
+      final LocalDate startDate, final long seed, final File file) throws IOException {
+    try (TWIGStreamWriter writer = TWIGStreamWriter.open(file)) {
+      simulateTimeOrdered(userCount, simulationTime, startDate, seed, writer);
+    }
+  }
+
+  /**
+   * Same as {@link #simulate(int, Duration, LocalDate, long)} but simulates users by multiple
+   * threads. Users are partitioned into blocks of {@link #USER_BLOCK_SIZE} consecutive indices. Each
+   * block is simulated into its own model which is written into the file
+   * {@code generated_twig_model_block_X.ttl} with {@code X} being the index of the block.<br>
+   * <br>
+   * Each user samples from its own random number generator
+   * {@link Xoroshiro128PlusRandom#forStream(long, long)} of {@code seed} and its index. Therefore
+   * the written files do not depend on the number of threads and contain the same tweets as the
+   * model returned by {@link #simulate(int, Duration, LocalDate, long)}. The distributions of this
+   * automaton are shared by all threads and must be safe for concurrent sampling by
+   * {@link SamplingDiscreteDistribution#sample(Random)}, which all distributions of this project
+   * are once built.
+   *
+   * @param userCount Users to simulate.
+   * @param simulationTime Period of time to simulate. Duration will be converted to days.
+   * @param startDate Starting date of the simulation period.
+   * @param seed Seed for the random number generators.
+   * @param threads Number of threads.
+   * @return Written files ordered by block.
+   * @throws UncheckedIOException Thrown if a file cannot be written.
+   * @throws IllegalStateException Thrown if simulating a block fails otherwise or if interrupted,
+   *         in which case the interrupt flag is set again.
+   */
+  public List<File> simulateParallel(final int userCount, final Duration simulationTime,
+      final LocalDate startDate, final long seed, final int threads) {
+    return simulateParallel(userCount, simulationTime, startDate, seed, threads, USER_BLOCK_SIZE);
+  }
+
+  List<File> simulateParallel(final int userCount, final Duration simulationTime,
+      final LocalDate startDate, final long seed, final int threads, final int blockSize) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be positive");
+    }
+
+    LOGGER.info("Starting simulation with {} users over {} days by {} threads.", userCount,
+        simulationTime.toDays(), threads);
+
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    final List<Future<File>> futures = new ArrayList<>();
+    for (int block = 0; (block * (long) blockSize) < userCount; block++) {
+      final int from = block * blockSize;
+      final int to = (int) Math.min(userCount, (long) from + blockSize);
+      final File file =
+          new File(resultStoreLocation, FILE_NAME + BLOCK_SUFFIX + block + FILE_ENDING);
+      futures.add(executor.submit(() -> {
+        final TWIGModelWrapper blockModel = new TWIGModelWrapper();
+        for (int i = from; i < to; i++) {
+          simulateUser(i, simulationTime, startDate, seed, blockModel);
+        }
+        try (FileWriter writer = new FileWriter(file)) {
+          blockModel.write(writer);
+        }
+        return file;
+      }));
+    }
+    executor.shutdown();
+
+    final List<File> files = new ArrayList<>(futures.size());
+    try {
+      for (final Future<File> future : futures) {
+        files.add(future.get());
+      }
+    } catch (final InterruptedException e) {
+      cancel(futures, executor);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while simulating", e);
+    } catch (final ExecutionException e) {
+      cancel(futures, executor);
+      if (e.getCause() instanceof IOException) {
+        throw new UncheckedIOException((IOException) e.getCause());
+      }
+      throw new IllegalStateException("Simulating a block of users failed", e.getCause());
+    }
+    return files;
+  }
+
+  private static void cancel(final List<? extends Future<?>> futures,
+      final ExecutorService executor) {
+    futures.forEach(future -> future.cancel(true));
+    executor.shutdownNow();
+  }
+
+  /**
+   * Simulates the user with given index and adds its tweets to the writer.
+   */
+  private void simulateUser(final int userIndex, final Duration simulationTime,
+      final LocalDate startDate, final long seed, final TweetWriter writer) {
+    final UserTimeline timeline = new UserTimeline(userIndex, simulationTime, startDate, seed);
+    while (timeline.hasNext()) {
+      write(timeline.next(), seed, writer);
+    }
+  }
+
+  private static void write(final Tweet tweet, final long seed, final TweetWriter writer) {
+    writer.addTweetNoAnonymization(tweet.getAccountName(), tweet.getContent(), tweet.getTime(),
+        Collections.emptyList(), seed);
+  }
+
   private void write(final TWIGModelWrapper resultModel) {
     try (FileWriter writer = new FileWriter(resultStoreFileHandler.nextFile())) {
       resultModel.write(writer);
@@ -154,7 +427,8 @@ public class Automaton {
    * Executes {@link #simulate(int, Duration, LocalDate, long)} with following arguments:
    * <li>
    * <ul>
-   * {@code arg[0]} must state a path to a serialized {@link WordMatrix}
+   * {@code arg[0]} must state a path to a serialized {@link WordMatrix}, to a serialized
+   * {@link NGramMatrix} or to a file created by {@link MappedWordMatrix#write(WordMatrix, File)}
    * </ul>
    * <ul>
    * {@code arg[1]} must state a path to a serialized {@link MessageCounter}
@@ -178,70 +452,448 @@ public class Automaton {
    * <ul>
    * {@code arg[7]} must state a directory in which the resulting file
    * {@code generated_twig_model_XXX.ttl} will be created with {@code _XXX} being a generic suffix
+   * or a file which the tweets will be streamed into by
+   * {@link #simulateStreaming(int, Duration, LocalDate, long, File)} or, if
+   * {@link Const#AUTOMATON_TIME_ORDERED} is set, in order of time by
+   * {@link #simulateTimeOrdered(int, Duration, LocalDate, long, File)}
    * </ul>
    * </li>
+   * If {@code arg[0]} states a file created by {@link ModelSnapshot} the arguments {@code arg[1]}
+   * and {@code arg[2]} are left out, i. e. all following arguments move two positions forward.
    *
    * @param args Arguments as specified above.
    */
   public static void main(final String[] args) {
+    final int modelArguments = getModelArgumentCount(args);
+    if (args.length < (modelArguments + 5)) {
+      throw new IllegalArgumentException("Insufficient arguments supplied");
+    }
+
+    final int userCount = Integer.parseInt(args[modelArguments]);
+    final int days = Integer.parseInt(args[modelArguments + 1]);
+    final LocalDate startDate =
+        LocalDate.from(DateTimeFormatter.ISO_LOCAL_DATE.parse(args[modelArguments + 2]));
+    final long seed = Long.parseLong(args[modelArguments + 3]);
+    final File f = new File(args[modelArguments + 4]);
+    final File directory = f.isDirectory() ? f : f.getAbsoluteFile().getParentFile();
+    if ((directory == null) || !directory.isDirectory()) {
+      throw new IllegalArgumentException("Supplied file must be a directory or in a directory");
+    }
 
-    if (args.length < 8) {
+    final Automaton automaton;
+    try {
+      automaton = load(args, directory);
+    } catch (IOException | ClassNotFoundException e) {
+      LOGGER.error(e.getMessage(), e);
+      return;
+    }
+
+    if (!f.isDirectory()) {
+      try {
+        if (Const.AUTOMATON_TIME_ORDERED) {
+          automaton.simulateTimeOrdered(userCount, Duration.ofDays(days), startDate, seed, f);
+        } else {
+          automaton.simulateStreaming(userCount, Duration.ofDays(days), startDate, seed, f);
+        }
+      } catch (final IOException e) {
+        LOGGER.error(e.getMessage(), e);
+      }
+    } else if (Const.AUTOMATON_THREADS > 1) {
+      automaton.simulateParallel(userCount, Duration.ofDays(days), startDate, seed,
+          Const.AUTOMATON_THREADS);
+    } else {
+      automaton.simulate(userCount, Duration.ofDays(days), startDate, seed);
+    }
+  }
+
+  /**
+   * Returns the number of leading arguments of {@link #main(String[])} that state the model files:
+   * {@code 1} if {@code args[0]} states a file created by {@link ModelSnapshot}, {@code 3}
+   * otherwise.
+   *
+   * @param args Arguments as specified in {@link #main(String[])}.
+   * @return Number of model arguments.
+   */
+  public static int getModelArgumentCount(final String[] args) {
+    return (args.length > 0) && ModelSnapshot.isModelSnapshot(new File(args[0])) ? 1 : 3;
+  }
+
+  /**
+   * Loads an automaton of the model files stated by the leading arguments of
+   * {@link #main(String[])}, see {@link #getModelArgumentCount(String[])}. Following arguments are
+   * ignored.
+   *
+   * @param args Arguments as specified in {@link #main(String[])}.
+   * @param resultStoreLocation Folder to store resulting models in.
+   * @return Automaton sampling from the loaded models.
+   * @throws IOException Thrown if a model file cannot be read.
+   * @throws ClassNotFoundException Thrown if a serialized model is of an unknown class.
+   * @throws IllegalArgumentException Thrown if there are less arguments than model files.
+   */
+  public static Automaton load(final String[] args, final File resultStoreLocation)
+      throws IOException, ClassNotFoundException, IllegalArgumentException {
+    if (args.length < getModelArgumentCount(args)) {
       throw new IllegalArgumentException("Insufficient arguments supplied");
     }
 
+    if (getModelArgumentCount(args) == 1) {
+      LOGGER.info("loads ModelSnapshot");
+      final ModelSnapshot snapshot = ModelSnapshot.open(new File(args[0]));
+      return new Automaton(snapshot.getWordSampler(), snapshot.getTweetNumberDistribution(),
+          snapshot.getTweetTimeDistribution(), resultStoreLocation);
+    }
+
     // read parameters
     final String wordmatrixFile = args[0];
     final String messageCounterFile = args[1];
     final String timeCounterFile = args[2];
 
-    final int userCount = Integer.parseInt(args[3]);
-    final int days = Integer.parseInt(args[4]);
-    final LocalDate startDate = LocalDate.from(DateTimeFormatter.ISO_LOCAL_DATE.parse(args[5]));
-    final long seed = Long.parseLong(args[6]);
-    final File f = new File(args[7]);
-    if (!f.isDirectory()) {
-      throw new IllegalArgumentException("Supplied file must be a directory");
-    }
-
     // load models
     LOGGER.info("loads WordMatrix");
-    WordSampler wordSampler;
-    try (ObjectInputStream stream =
-        new ObjectInputStream(new BufferedInputStream(new FileInputStream(wordmatrixFile)))) {
-      final WordMatrix wordMatrix = (WordMatrix) stream.readObject();
-      wordSampler = new WordSampler(wordMatrix);
-    } catch (IOException | ClassNotFoundException e) {
-      LOGGER.error(e.getMessage(), e);
-      return;
+    final SamplingWordPredecessorSuccessorDistribution wordSampler;
+    if (MappedWordMatrix.isMappedWordMatrix(new File(wordmatrixFile))) {
+      wordSampler = MappedWordMatrix.open(new File(wordmatrixFile));
+    } else {
+      try (ObjectInputStream stream =
+          new ObjectInputStream(new BufferedInputStream(new FileInputStream(wordmatrixFile)))) {
+        final Object matrix = stream.readObject();
+        if (matrix instanceof NGramMatrix) {
+          wordSampler = new NGramSampler((NGramMatrix) matrix, Const.NGRAM_MIN_COUNT);
+        } else {
+          final WordMatrix wordMatrix = (WordMatrix) matrix;
+          wordMatrix.compactIndex();
+          final WordSampler sampler = new WordSampler(wordMatrix);
+          if (Const.WORD_SAMPLER_PREWARM) {
+            sampler.prewarm();
+          }
+          wordSampler = sampler;
+        }
+      }
     }
 
     LOGGER.info("loads MessageCounter");
-    SamplingDiscreteDistribution<Integer> messageDistribution;
+    final SamplingDiscreteDistribution<Integer> messageDistribution;
     try (ObjectInputStream stream =
         new ObjectInputStream(new BufferedInputStream(new FileInputStream(messageCounterFile)))) {
       final MessageCounter messageCounter = (MessageCounter) stream.readObject();
       messageDistribution = messageCounter
           .normalize(Duration.ofDays(TWEET_NUMBER_NORMALIZATION_DAYS)).getValueDistribution();
-    } catch (IOException | ClassNotFoundException e) {
-      LOGGER.error(e.getMessage(), e);
-      return;
     }
 
     LOGGER.info("loads TimeCounter");
-    SamplingDiscreteDistribution<LocalTime> timeDistribution;
+    final SamplingDiscreteIntDistribution timeDistribution;
     try (ObjectInputStream stream =
         new ObjectInputStream(new BufferedInputStream(new FileInputStream(timeCounterFile)))) {
       final TimeCounter timeCounter = (TimeCounter) stream.readObject();
-      timeDistribution = timeCounter.getValueDistribution();
-    } catch (IOException | ClassNotFoundException e) {
-      LOGGER.error(e.getMessage(), e);
-      return;
+      timeDistribution = timeCounter.getSecondOfDayDistribution();
     }
 
     LOGGER.info("loads automation");
-    // starts automation
-    final Automaton automaton;
-    automaton = new Automaton(wordSampler, messageDistribution, timeDistribution, f);
-    automaton.simulate(userCount, Duration.ofDays(days), startDate, seed);
+    return new Automaton(wordSampler, messageDistribution, timeDistribution, resultStoreLocation);
+  }
+
+  /**
+   * Samples {@code count} distinct tweet times in the period of {@code days} days starting at
+   * {@code startSecond}. Each time is sampled jointly as a uniformly distributed day and a second
+   * of the day drawn from {@code distribution}, and a time that has been sampled before is rejected
+   * by drawing a new day and second. This samples times distributed like rejecting by a set of
+   * boxed timestamps, but without one: The seconds of all times are sampled at once by
+   * {@link SamplingDiscreteIntDistribution#sample(int, Random, long[])}, their days are added, and
+   * the times are sorted and duplicates are removed in one pass. If there have been duplicates, the
+   * distinct times are put into an open addressing set of primitive values and the missing times
+   * are sampled rejecting those in the set.<br>
+   * <br>
+   * At most {@code days} times the number of seconds the distribution can sample are distinct, see
+   * {@link SamplingDiscreteIntDistribution#getSupportSize()}. More times are rejected up front
+   * since sampling them would never end.
+   *
+   * @param distribution Distribution of the seconds of the day.
+   * @param r Random number generator to sample by.
+   * @param startSecond First second of the period since the epoch.
+   * @param days Number of days of the period.
+   * @param count Number of times to sample.
+   * @return Distinct times in ascending order.
+   * @throws IllegalArgumentException Thrown if there are less than {@code count} distinct times.
+   */
+  static long[] sampleDistinctTimes(final SamplingDiscreteIntDistribution distribution,
+      final Random r, final long startSecond, final int days, final int count)
+      throws IllegalArgumentException {
+    final long capacity =
+        (long) days * Math.min(distribution.getSupportSize(), TimeCounter.SECONDS_OF_DAY);
+    if (count > capacity) {
+      throw new IllegalArgumentException(
+          "Cannot sample " + count + " distinct tweet times of " + capacity + " possible ones.");
+    }
+
+    final long[] times = new long[count];
+    if (count == 0) {
+      return times;
+    }
+
+    distribution.sample(count, r, times);
+    for (int i = 0; i < count; i++) {
+      times[i] += startSecond + ((long) r.nextInt(days) * TimeCounter.SECONDS_OF_DAY);
+    }
+    Arrays.sort(times);
+
+    int distinct = 0;
+    for (int i = 0; i < count; i++) {
+      if ((distinct == 0) || (times[i] != times[distinct - 1])) {
+        times[distinct++] = times[i];
+      }
+    }
+
+    if (distinct < count) {
+      final long[] table = new long[Integer.highestOneBit(Math.max(count, 2) - 1) << 2];
+      Arrays.fill(table, Long.MIN_VALUE);
+      for (int i = 0; i < distinct; i++) {
+        addTime(table, times[i]);
+      }
+      while (distinct < count) {
+        final long time = sampleTime(distribution, r, startSecond, days);
+        if (addTime(table, time)) {
+          times[distinct++] = time;
+        }
+      }
+      Arrays.sort(times);
+    }
+    return times;
+  }
+
+  private static long sampleTime(final SamplingDiscreteIntDistribution distribution,
+      final Random r, final long startSecond, final int days) {
+    final long day = r.nextInt(days);
+    return startSecond + (day * TimeCounter.SECONDS_OF_DAY) + distribution.sampleInt(r);
+  }
+
+  /**
+   * Adds a time to an open addressing set with linear probing whose empty slots are
+   * {@link Long#MIN_VALUE}.
+   *
+   * @return {@code true} if the time has not been in the set.
+   */
+  private static boolean addTime(final long[] table, final long time) {
+    final int mask = table.length - 1;
+    int slot = (int) ((time * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    while (table[slot] != Long.MIN_VALUE) {
+      if (table[slot] == time) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = time;
+    return true;
+  }
+
+  /**
+   * Tweets of one user in ascending order of time. The tweet times of the user are sampled when the
+   * timeline is created and held as primitive values, the contents are sampled one after another.
+   * <br>
+   * <br>
+   * Times are sampled from the random number generator of the user and contents from a split of it,
+   * so the tweets of a user do not depend on how they are interleaved with those of other users.
+   */
+  private class UserTimeline implements Iterator<Tweet> {
+
+    private final int userIndex;
+
+    private final String userName;
+
+    private final Random contentRandom;
+
+    private final long[] times;
+
+    private int position;
+
+    UserTimeline(final int userIndex, final Duration simulationTime, final LocalDate startDate,
+        final long seed) {
+      this(userIndex, simulationTime, startDate, seed, Long.MIN_VALUE, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Creates the timeline of the tweets from {@code fromSecond} (inclusive) to {@code toSecond}
+     * (exclusive). All tweet times of the user are sampled, but only those in the window are kept.
+     *
+     * @param contentRandom Content generator as left by the timeline of the tweets before
+     *        {@code fromSecond} or {@code null} if the user has not tweeted before.
+     */
+    UserTimeline(final int userIndex, final Duration simulationTime, final LocalDate startDate,
+        final long seed, final long fromSecond, final long toSecond, final Random contentRandom) {
+      final Xoroshiro128PlusRandom r = Xoroshiro128PlusRandom.forStream(seed, userIndex);
+      this.userIndex = userIndex;
+      userName = User.ofIndex(userIndex).getNameAsHexString();
+      final int simulationDays = (int) simulationTime.toDays();
+      final long startSecond = startDate.toEpochDay() * TimeCounter.SECONDS_OF_DAY;
+
+      // number of tweet for the user
+      final int tweetCount =
+          (tweetNumberDistribution.sample(r) * simulationDays) / TWEET_NUMBER_NORMALIZATION_DAYS;
+      if (fromSecond <= startSecond) {
+        LOGGER.info("User {} tweets {} times.", userName, tweetCount);
+      }
+
+      final Random split = r.split();
+      this.contentRandom = contentRandom == null ? split : contentRandom;
+      // find for each tweet a tweet time
+      final long[] allTimes =
+          sampleDistinctTimes(tweetTimeDistribution, r, startSecond, simulationDays, tweetCount);
+      final int from = fromSecond <= startSecond ? 0 : lowerBound(allTimes, fromSecond);
+      final int to = lowerBound(allTimes, toSecond);
+      times = (from == 0) && (to == allTimes.length) ? allTimes
+          : Arrays.copyOfRange(allTimes, from, to);
+    }
+
+    /**
+     * Returns the index of the first time that is not less than {@code time}.
+     */
+    private int lowerBound(final long[] sortedTimes, final long time) {
+      final int index = Arrays.binarySearch(sortedTimes, time);
+      // times are distinct
+      return index >= 0 ? index : -(index + 1);
+    }
+
+    long peekTime() {
+      return times[position];
+    }
+
+    @Override
+    public boolean hasNext() {
+      return position < times.length;
+    }
+
+    @Override
+    public Tweet next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      // create tweet content
+      final String tweetContent =
+          samplingWordPredecessorSuccessorDistribution.sample(contentRandom);
+      return new Tweet(userName, tweetContent, times[position++]);
+    }
+  }
+
+  /**
+   * Merges the timelines of all users one time window after another by a priority queue ordered by
+   * the time of their next tweet. The timelines of a window are created once all tweets of the
+   * previous window have been returned.
+   */
+  private class TimeOrderedIterator implements Iterator<Tweet> {
+
+    private final int userCount;
+
+    private final Duration simulationTime;
+
+    private final LocalDate startDate;
+
+    private final long seed;
+
+    private final long windowSeconds;
+
+    private final long endSecond;
+
+    /**
+     * Start of the next window to create the timelines of.
+     */
+    private long windowStart;
+
+    /**
+     * Content generator of each user as left by its last timeline, {@code null} if the user has not
+     * tweeted yet.
+     */
+    private final Random[] contentRandoms;
+
+    private final PriorityQueue<UserTimeline> timelines;
+
+    TimeOrderedIterator(final int userCount, final Duration simulationTime,
+        final LocalDate startDate, final long seed, final int windowDays) {
+      this.userCount = userCount;
+      this.simulationTime = simulationTime;
+      this.startDate = startDate;
+      this.seed = seed;
+      windowSeconds = (long) windowDays * TimeCounter.SECONDS_OF_DAY;
+      windowStart = startDate.toEpochDay() * TimeCounter.SECONDS_OF_DAY;
+      endSecond = windowStart + (simulationTime.toDays() * TimeCounter.SECONDS_OF_DAY);
+      contentRandoms = new Random[userCount];
+      timelines = new PriorityQueue<>(Math.max(1, userCount),
+          Comparator.comparingLong(UserTimeline::peekTime)
+              .thenComparingInt(timeline -> timeline.userIndex));
+    }
+
+    /**
+     * Creates the timelines of the next window that has tweets.
+     */
+    private void nextWindow() {
+      while (timelines.isEmpty() && (windowStart < endSecond)) {
+        final long windowEnd = Math.min(windowStart + windowSeconds, endSecond);
+        for (int i = 0; i < userCount; i++) {
+          final UserTimeline timeline = new UserTimeline(i, simulationTime, startDate, seed,
+              windowStart, windowEnd, contentRandoms[i]);
+          if (timeline.hasNext()) {
+            timelines.add(timeline);
+          }
+        }
+        windowStart = windowEnd;
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      nextWindow();
+      return !timelines.isEmpty();
+    }
+
+    @Override
+    public Tweet next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      final UserTimeline timeline = timelines.poll();
+      final Tweet tweet = timeline.next();
+      if (timeline.hasNext()) {
+        timelines.add(timeline);
+      } else {
+        contentRandoms[timeline.userIndex] = timeline.contentRandom;
+      }
+      return tweet;
+    }
+  }
+
+  /**
+   * Samples seconds of the day by a distribution of times with minute precision and uniformly
+   * distributed seconds.
+   */
+  private static class SecondOfDayAdapter implements SamplingDiscreteIntDistribution {
+
+    private final SamplingDiscreteDistribution<LocalTime> timeDistribution;
+
+    private final Random random = new Xoroshiro128PlusRandom();
+
+    SecondOfDayAdapter(final SamplingDiscreteDistribution<LocalTime> timeDistribution) {
+      this.timeDistribution = timeDistribution;
+    }
+
+    @Override
+    public void reseedRandomGenerator(final long seed) {
+      random.setSeed(seed);
+    }
+
+    @Override
+    public Integer sample() {
+      return sample(random);
+    }
+
+    @Override
+    public Integer sample(final Random r) {
+      final LocalTime time = timeDistribution.sample(r);
+      return time == null ? null : time.withSecond(r.nextInt(SECONDS)).toSecondOfDay();
+    }
+
+    @Override
+    public int sampleInt(final Random r) {
+      return timeDistribution.sample(r).withSecond(r.nextInt(SECONDS)).toSecondOfDay();
+    }
   }
 }
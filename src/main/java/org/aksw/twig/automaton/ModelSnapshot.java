@@ -0,0 +1,205 @@
+package org.aksw.twig.automaton;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.time.Duration;
+
+import org.aksw.twig.automaton.data.MappedWordMatrix;
+import org.aksw.twig.automaton.data.MessageCounter;
+import org.aksw.twig.automaton.data.TimeCounter;
+import org.aksw.twig.automaton.data.WordMatrix;
+import org.aksw.twig.files.MappedFile;
+import org.aksw.twig.statistics.ExponentialLikeDistribution;
+import org.aksw.twig.statistics.SamplingDiscreteIntDistribution;
+import org.aksw.twig.statistics.SimpleExponentialRegression;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Compiled model of an {@link Automaton} in one memory-mapped file. The file holds everything the
+ * automaton samples from in its final form, so opening it neither deserializes any object nor
+ * builds any distribution and the automaton can start sampling right away.<br>
+ * <br>
+ * Layout of the file, all values big-endian:
+ * <ul>
+ * <li>header: magic number and version</li>
+ * <li>{@code double}: lambda of the {@link ExponentialLikeDistribution} of tweets per user, fitted
+ * to a {@link MessageCounter} normalized to {@link Automaton#TWEET_NUMBER_NORMALIZATION_DAYS}</li>
+ * <li>{@code long[TimeCounter.MINUTES_OF_DAY]}: counts of tweets by minute of the day as returned
+ * by {@link TimeCounter#getMinuteOfDayFrequencies()}</li>
+ * <li>a {@link MappedWordMatrix} of the word predecessor-successor distribution</li>
+ * </ul>
+ */
+public class ModelSnapshot implements Closeable {
+
+  private static final Logger LOGGER = LogManager.getLogger(ModelSnapshot.class);
+
+  private static final int MAGIC = 0x5457534E; // "TWSN"
+
+  private static final int VERSION = 1;
+
+  private static final int LAMBDA_POSITION = 8;
+
+  private static final int FREQUENCIES_POSITION = 16;
+
+  private static final int MATRIX_POSITION =
+      FREQUENCIES_POSITION + (TimeCounter.MINUTES_OF_DAY << 3);
+
+  private final MappedFile file;
+
+  private final MappedWordMatrix wordSampler;
+
+  private final ExponentialLikeDistribution tweetNumberDistribution;
+
+  private final SamplingDiscreteIntDistribution tweetTimeDistribution;
+
+  private ModelSnapshot(final MappedFile file) throws IOException {
+    if ((file.size() < MATRIX_POSITION) || (file.getInt(0) != MAGIC)) {
+      throw new IOException("No model snapshot found.");
+    }
+    if (file.getInt(4) != VERSION) {
+      throw new IOException("Unsupported model snapshot version.");
+    }
+
+    this.file = file;
+    tweetNumberDistribution = new ExponentialLikeDistribution(file.getDouble(LAMBDA_POSITION));
+    final long[] frequencies = new long[TimeCounter.MINUTES_OF_DAY];
+    for (int i = 0; i < frequencies.length; i++) {
+      frequencies[i] = file.getLong(FREQUENCIES_POSITION + ((long) i << 3));
+    }
+    tweetTimeDistribution = TimeCounter.getSecondOfDayDistribution(frequencies);
+    wordSampler = new MappedWordMatrix(file, MATRIX_POSITION);
+  }
+
+  /**
+   * Maps given file created by
+   * {@link #write(WordMatrix, ExponentialLikeDistribution, TimeCounter, File)}.
+   *
+   * @param file File to map.
+   * @return Model snapshot.
+   * @throws IOException Thrown if the file cannot be mapped or is no model snapshot.
+   */
+  public static ModelSnapshot open(final File file) throws IOException {
+    return new ModelSnapshot(MappedFile.open(file));
+  }
+
+  /**
+   * Checks whether given file is a model snapshot.
+   *
+   * @param file File to check.
+   * @return {@code true} iff the file has been created by
+   *         {@link #write(WordMatrix, ExponentialLikeDistribution, TimeCounter, File)}.
+   */
+  public static boolean isModelSnapshot(final File file) {
+    try (DataInputStream stream =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      return stream.readInt() == MAGIC;
+    } catch (final IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the word predecessor-successor distribution.
+   *
+   * @return Word sampler.
+   */
+  public MappedWordMatrix getWordSampler() {
+    return wordSampler;
+  }
+
+  /**
+   * Returns the distribution of tweets per user in
+   * {@link Automaton#TWEET_NUMBER_NORMALIZATION_DAYS} days.
+   *
+   * @return Tweet number distribution.
+   */
+  public ExponentialLikeDistribution getTweetNumberDistribution() {
+    return tweetNumberDistribution;
+  }
+
+  /**
+   * Returns the distribution of the seconds of the day of tweets, see
+   * {@link TimeCounter#getSecondOfDayDistribution()}.
+   *
+   * @return Tweet time distribution.
+   */
+  public SamplingDiscreteIntDistribution getTweetTimeDistribution() {
+    return tweetTimeDistribution;
+  }
+
+  @Override
+  public void close() {
+    file.close();
+  }
+
+  /**
+   * Writes a model snapshot into given file.
+   *
+   * @param wordMatrix Word predecessor-successor frequencies.
+   * @param tweetNumberDistribution Distribution of tweets per user in
+   *        {@link Automaton#TWEET_NUMBER_NORMALIZATION_DAYS} days.
+   * @param timeCounter Tweet time frequencies.
+   * @param file File to write into.
+   * @throws IOException Thrown if the file cannot be written.
+   */
+  public static void write(final WordMatrix wordMatrix,
+      final ExponentialLikeDistribution tweetNumberDistribution, final TimeCounter timeCounter,
+      final File file) throws IOException {
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeDouble(tweetNumberDistribution.getLambda());
+      for (final long frequency : timeCounter.getMinuteOfDayFrequencies()) {
+        out.writeLong(frequency);
+      }
+      MappedWordMatrix.write(wordMatrix, out);
+    }
+  }
+
+  /**
+   * Compiles serialized models into a model snapshot that can be passed to
+   * {@link Automaton#main(String[])} instead of them.
+   * <ul>
+   * <li>{@code arg[0]} must state a path to a serialized {@link WordMatrix}</li>
+   * <li>{@code arg[1]} must state a path to a serialized {@link MessageCounter}</li>
+   * <li>{@code arg[2]} must state a path to a serialized {@link TimeCounter}</li>
+   * <li>{@code arg[3]} must state the path of the file to create</li>
+   * </ul>
+   *
+   * @param args Arguments as stated above.
+   */
+  public static void main(final String[] args) {
+    if (args.length < 4) {
+      throw new IllegalArgumentException("Insufficient arguments");
+    }
+
+    try (ObjectInputStream wordMatrixStream =
+        new ObjectInputStream(new BufferedInputStream(new FileInputStream(args[0])));
+        ObjectInputStream messageCounterStream =
+            new ObjectInputStream(new BufferedInputStream(new FileInputStream(args[1])));
+        ObjectInputStream timeCounterStream =
+            new ObjectInputStream(new BufferedInputStream(new FileInputStream(args[2])))) {
+      final WordMatrix wordMatrix = (WordMatrix) wordMatrixStream.readObject();
+      final SimpleExponentialRegression regression =
+          ((MessageCounter) messageCounterStream.readObject())
+              .normalize(Duration.ofDays(Automaton.TWEET_NUMBER_NORMALIZATION_DAYS))
+              .getRegression();
+      LOGGER.info("Fitted message counts: {}", regression);
+      final TimeCounter timeCounter = (TimeCounter) timeCounterStream.readObject();
+      write(wordMatrix, ExponentialLikeDistribution.of(regression), timeCounter,
+          new File(args[3]));
+    } catch (IOException | ClassNotFoundException e) {
+      LOGGER.error(e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package org.aksw.twig.automaton;
+
+/**
+ * Tweet generated by an {@link Automaton}.
+ */
+public class Tweet {
+
+  private final String accountName;
+
+  private final String content;
+
+  private final long time;
+
+  /**
+   * Creates a new instance setting class variables.
+   *
+   * @param accountName Name of the tweeting account.
+   * @param content Content of the tweet.
+   * @param time Tweet time in seconds since the epoch {@code 1970-01-01T00:00:00}.
+   */
+  public Tweet(final String accountName, final String content, final long time) {
+    this.accountName = accountName;
+    this.content = content;
+    this.time = time;
+  }
+
+  /**
+   * Returns the name of the tweeting account.
+   *
+   * @return Account name.
+   */
+  public String getAccountName() {
+    return accountName;
+  }
+
+  /**
+   * Returns the content of the tweet.
+   *
+   * @return Content.
+   */
+  public String getContent() {
+    return content;
+  }
+
+  /**
+   * Returns the tweet time in seconds since the epoch {@code 1970-01-01T00:00:00}.
+   *
+   * @return Tweet time.
+   */
+  public long getTime() {
+    return time;
+  }
+
+  @Override
+  public String toString() {
+    return accountName + " " + time + " " + content;
+  }
+}
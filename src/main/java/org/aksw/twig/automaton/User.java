@@ -38,6 +38,23 @@ class User {
     this.name = Arrays.copyOf(name, NAME_LENGTH);
   }
 
+  /**
+   * Creates the user with the given index. Its name is the index as {@link #NAME_LENGTH} byte
+   * number, i. e. the name the {@code index}-th user created by {@link #User()} gets. Other than
+   * {@link #User()} this does not depend on how many users have been created before, so users can
+   * be created by different threads deterministically.
+   * 
+   * @param index Index of the user.
+   * @return User.
+   */
+  static User ofIndex(final long index) {
+    final byte[] name = new byte[NAME_LENGTH];
+    for (int i = 0; i < Long.BYTES; i++) {
+      name[NAME_LENGTH - 1 - i] = (byte) (index >>> (i << 3));
+    }
+    return new User(name);
+  }
+
   /**
    * Returns a pointer to the username.
    * 
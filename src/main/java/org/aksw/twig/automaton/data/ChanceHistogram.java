@@ -0,0 +1,146 @@
+package org.aksw.twig.automaton.data;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of transition chances of a {@link WordMatrix}. For a descending array of bounds the
+ * histogram tells for each bound {@code x} how many transitions succeed with a chance lower than or
+ * equal to {@code x} and the average percentage of successors of a predecessor that do so.<br>
+ * <br>
+ * Every transition is counted once in the bucket of the tightest bound it satisfies. Values per
+ * bound are aggregated over buckets when queried. Instances can be filled concurrently on separate
+ * threads and be merged by {@link #merge(ChanceHistogram)} afterwards.
+ */
+public class ChanceHistogram implements WordMatrix.SuccessorVisitor {
+
+  private final double[] bounds;
+
+  /**
+   * Sum over all predecessors of the share of successors falling into each bucket.
+   */
+  private final double[] shareSums;
+
+  /**
+   * Number of transitions falling into each bucket.
+   */
+  private final long[] transitionCounts;
+
+  private long predecessorCount;
+
+  // state of the predecessor that is currently visited
+
+  private double divisor;
+
+  private double share;
+
+  /**
+   * Creates a new empty histogram.
+   *
+   * @param bounds Chance bounds in descending order.
+   * @throws IllegalArgumentException Thrown if {@code bounds} is not in descending order.
+   */
+  public ChanceHistogram(final double... bounds) throws IllegalArgumentException {
+    for (int i = 1; i < bounds.length; i++) {
+      if (bounds[i] >= bounds[i - 1]) {
+        throw new IllegalArgumentException("Bounds must be in descending order.");
+      }
+    }
+
+    this.bounds = Arrays.copyOf(bounds, bounds.length);
+    shareSums = new double[bounds.length];
+    transitionCounts = new long[bounds.length];
+  }
+
+  /**
+   * Adds all transitions of given predecessor to the histogram.
+   *
+   * @param matrix Matrix to read from.
+   * @param predecessorId Id of the predecessor.
+   */
+  public void add(final WordMatrix matrix, final int predecessorId) {
+    divisor = matrix.matrix.get(predecessorId).getLeft();
+    share = 1d / matrix.getSuccessorCount(predecessorId);
+    matrix.forEachSuccessor(predecessorId, this);
+    predecessorCount++;
+  }
+
+  @Override
+  public void visit(final int successorId, final long count) {
+    final double chance = count / divisor;
+    int bucket = -1;
+    while (((bucket + 1) < bounds.length) && (chance <= bounds[bucket + 1])) {
+      bucket++;
+    }
+
+    if (bucket != -1) {
+      shareSums[bucket] += share;
+      transitionCounts[bucket]++;
+    }
+  }
+
+  /**
+   * Adds all values of given histogram to this one. Both histograms must have the same bounds.
+   *
+   * @param histogram Histogram to merge.
+   * @throws IllegalArgumentException Thrown if the bounds of the histograms differ.
+   */
+  public void merge(final ChanceHistogram histogram) throws IllegalArgumentException {
+    if (!Arrays.equals(bounds, histogram.bounds)) {
+      throw new IllegalArgumentException("Bounds of the histograms differ.");
+    }
+
+    for (int i = 0; i < bounds.length; i++) {
+      shareSums[i] += histogram.shareSums[i];
+      transitionCounts[i] += histogram.transitionCounts[i];
+    }
+    predecessorCount += histogram.predecessorCount;
+  }
+
+  /**
+   * Returns a copy of the bounds of this histogram.
+   *
+   * @return Bounds in descending order.
+   */
+  public double[] getBounds() {
+    return Arrays.copyOf(bounds, bounds.length);
+  }
+
+  /**
+   * Returns the number of predecessors added to the histogram.
+   *
+   * @return Number of predecessors.
+   */
+  public long getPredecessorCount() {
+    return predecessorCount;
+  }
+
+  /**
+   * Returns the average share of successors that succeed their predecessor with a chance lower than
+   * or equal to {@code bounds[boundIndex]}. Returns {@link Double#NaN} if the histogram is empty.
+   *
+   * @param boundIndex Index of the bound.
+   * @return Average share between {@code 0} and {@code 1}.
+   */
+  public double getAverageShare(final int boundIndex) {
+    double sum = 0;
+    for (int i = boundIndex; i < bounds.length; i++) {
+      sum += shareSums[i];
+    }
+    return sum / predecessorCount;
+  }
+
+  /**
+   * Returns the number of transitions with a chance lower than or equal to
+   * {@code bounds[boundIndex]}.
+   *
+   * @param boundIndex Index of the bound.
+   * @return Number of transitions.
+   */
+  public long getTransitionCount(final int boundIndex) {
+    long sum = 0;
+    for (int i = boundIndex; i < bounds.length; i++) {
+      sum += transitionCounts[i];
+    }
+    return sum;
+  }
+}
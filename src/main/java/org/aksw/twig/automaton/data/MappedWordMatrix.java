@@ -0,0 +1,509 @@
+package org.aksw.twig.automaton.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import org.aksw.twig.files.MappedFile;
+import org.aksw.twig.statistics.SamplingDiscreteDistribution;
+import org.aksw.twig.statistics.Xoroshiro128PlusRandom;
+import org.apache.commons.lang3.tuple.MutablePair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Read-only {@link SamplingWordPredecessorSuccessorDistribution} backed by a memory-mapped file.
+ * The file is created of a {@link WordMatrix} by {@link #write(WordMatrix, File)} and holds the
+ * vocabulary and the cumulative successor chances of every predecessor in flat arrays. Since
+ * nothing but a few offsets is held on the heap, heap size is independent of the model size and
+ * several processes can share the page-cached file.<br>
+ * <br>
+ * Layout of the file, all values big-endian and aligned to their size:
+ * <ul>
+ * <li>header: magic number, version, word count, transition count and the positions of the
+ * following sections</li>
+ * <li>{@code long[wordCount + 1]}: offsets of the words in the word data</li>
+ * <li>{@code byte[]}: UTF-8 encoded words sorted by their bytes, the id of a word is its rank</li>
+ * <li>{@code long[wordCount + 1]}: index of the first successor of each predecessor</li>
+ * <li>{@code int[transitionCount]}: successor ids sorted ascending per predecessor</li>
+ * <li>{@code double[transitionCount]}: aggregated successor chances per predecessor</li>
+ * </ul>
+ * Sampling a successor runs in {@code O(log n)} with {@code n} being the number of successors.
+ */
+public class MappedWordMatrix implements SamplingWordPredecessorSuccessorDistribution, Closeable {
+
+  private static final Logger LOGGER = LogManager.getLogger(MappedWordMatrix.class);
+
+  private static final int MAGIC = 0x54574D58; // "TWMX"
+
+  private static final int VERSION = 1;
+
+  private static final int HEADER_SIZE = 56;
+
+  private final MappedFile file;
+
+  private final int wordCount;
+
+  private final long wordOffsetsPosition;
+
+  private final long wordDataPosition;
+
+  private final long startsPosition;
+
+  private final long successorIdsPosition;
+
+  private final long cumulativePosition;
+
+  /**
+   * Id of the empty word, i. e. the word starting and ending sentences.
+   */
+  private final int emptyWordId;
+
+  private final Random r = new Xoroshiro128PlusRandom();
+
+  /**
+   * Creates a new instance reading the matrix starting at {@code base} in given file.
+   *
+   * @param file Mapped file.
+   * @param base Position of the matrix in the file. Must be a multiple of 8.
+   * @throws IOException Thrown if there is no matrix at the given position.
+   */
+  public MappedWordMatrix(final MappedFile file, final long base) throws IOException {
+    if (((base & 7) != 0) || (file.size() < (base + HEADER_SIZE))
+        || (file.getInt(base) != MAGIC)) {
+      throw new IOException("No mapped word matrix found.");
+    }
+    if (file.getInt(base + 4) != VERSION) {
+      throw new IOException("Unsupported mapped word matrix version.");
+    }
+
+    this.file = file;
+    wordCount = file.getInt(base + 8);
+    wordOffsetsPosition = base + HEADER_SIZE;
+    wordDataPosition = base + file.getLong(base + 24);
+    startsPosition = base + file.getLong(base + 32);
+    successorIdsPosition = base + file.getLong(base + 40);
+    cumulativePosition = base + file.getLong(base + 48);
+    emptyWordId = getId("");
+  }
+
+  /**
+   * Maps given file created by {@link #write(WordMatrix, File)}.
+   *
+   * @param file File to map.
+   * @return Mapped word matrix.
+   * @throws IOException Thrown if the file cannot be mapped or is no mapped word matrix.
+   */
+  public static MappedWordMatrix open(final File file) throws IOException {
+    return new MappedWordMatrix(MappedFile.open(file), 0);
+  }
+
+  /**
+   * Checks whether given file starts with a mapped word matrix.
+   *
+   * @param file File to check.
+   * @return {@code true} iff the file has been created by {@link #write(WordMatrix, File)}.
+   */
+  public static boolean isMappedWordMatrix(final File file) {
+    try (DataInputStream stream =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      return stream.readInt() == MAGIC;
+    } catch (final IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the number of words in the vocabulary.
+   *
+   * @return Number of words.
+   */
+  public int getVocabularySize() {
+    return wordCount;
+  }
+
+  /**
+   * Returns the id of given word or {@code -1} if the word is unknown. Runs in {@code O(log n)}.
+   *
+   * @param word Word to look up.
+   * @return Id of the word.
+   */
+  public int getId(final String word) {
+    final byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+    int low = 0;
+    int high = wordCount - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int comparison = compareWord(mid, bytes);
+      if (comparison < 0) {
+        low = mid + 1;
+      } else if (comparison > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the word with given id.
+   *
+   * @param id Id of the word.
+   * @return Word.
+   */
+  public String getWord(final int id) {
+    return appendWord(id, new StringBuilder()).toString();
+  }
+
+  /**
+   * Appends the word with given id to the string builder.
+   *
+   * @param id Id of the word.
+   * @param builder Builder to append to.
+   * @return {@code builder}
+   */
+  public StringBuilder appendWord(final int id, final StringBuilder builder) {
+    if ((id < 0) || (id >= wordCount)) {
+      throw new IndexOutOfBoundsException(Integer.toString(id));
+    }
+
+    final long end = wordDataPosition + file.getLong(wordOffsetsPosition + ((id + 1L) << 3));
+    long position = wordDataPosition + file.getLong(wordOffsetsPosition + ((long) id << 3));
+    // decodes UTF-8 without creating intermediate arrays
+    while (position < end) {
+      final int b = file.getByte(position++) & 0xFF;
+      if (b < 0x80) {
+        builder.append((char) b);
+      } else if (b < 0xE0) {
+        builder.append((char) (((b & 0x1F) << 6) | (file.getByte(position++) & 0x3F)));
+      } else if (b < 0xF0) {
+        builder.append((char) (((b & 0x0F) << 12) | ((file.getByte(position++) & 0x3F) << 6)
+            | (file.getByte(position++) & 0x3F)));
+      } else {
+        builder.appendCodePoint(((b & 0x07) << 18) | ((file.getByte(position++) & 0x3F) << 12)
+            | ((file.getByte(position++) & 0x3F) << 6) | (file.getByte(position++) & 0x3F));
+      }
+    }
+    return builder;
+  }
+
+  /**
+   * Compares the word with given id to the given UTF-8 encoded word by unsigned byte order.
+   */
+  private int compareWord(final int id, final byte[] bytes) {
+    final long start = wordDataPosition + file.getLong(wordOffsetsPosition + ((long) id << 3));
+    final long end = wordDataPosition + file.getLong(wordOffsetsPosition + ((id + 1L) << 3));
+    final int length = (int) (end - start);
+    final int max = Math.min(length, bytes.length);
+    for (int i = 0; i < max; i++) {
+      final int comparison = (file.getByte(start + i) & 0xFF) - (bytes[i] & 0xFF);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return length - bytes.length;
+  }
+
+  /**
+   * Samples a successor of given predecessor.
+   *
+   * @param predecessorId Id of the predecessor.
+   * @param randomSource Source of randomness.
+   * @return Id of the successor or {@code -1} if the predecessor has no successors.
+   */
+  public int sampleSuccessorId(final int predecessorId, final Random randomSource) {
+    final long from = file.getLong(startsPosition + ((long) predecessorId << 3));
+    final long to = file.getLong(startsPosition + ((predecessorId + 1L) << 3));
+    if (from == to) {
+      return -1;
+    }
+
+    // first successor with an aggregated chance greater than the random value
+    final double random = randomSource.nextDouble();
+    long base = from;
+    long length = to - from;
+    while (length > 1) {
+      final long half = length >>> 1;
+      base = file.getDouble(cumulativePosition + ((base + half) << 3)) <= random ? base + half
+          : base;
+      length -= half;
+    }
+    if ((file.getDouble(cumulativePosition + (base << 3)) <= random) && (base < (to - 1))) {
+      base++;
+    }
+
+    return file.getInt(successorIdsPosition + (base << 2));
+  }
+
+  @Override
+  public SamplingDiscreteDistribution<String> getSuccessorDistribution(final String predecessor) {
+    final int predecessorId = getId(predecessor);
+    if (predecessorId == -1) {
+      return WordSampler.EMPTY_WORD_SAMPLER;
+    }
+
+    return new SuccessorDistribution(predecessorId);
+  }
+
+  @Override
+  public void reseedRandomGenerator(final long seed) {
+    r.setSeed(seed);
+  }
+
+  @Override
+  public String sample() {
+    return sample(r);
+  }
+
+  @Override
+  public String sample(final Random randomSource) {
+    final StringBuilder tweet = new StringBuilder();
+    if (emptyWordId == -1) {
+      return "";
+    }
+
+    int predecessor = emptyWordId;
+    int lastLength = 0;
+    while (tweet.length() < WordSampler.MAX_CHARS) {
+      final int successor = sampleSuccessorId(predecessor, randomSource);
+      if ((successor == -1) || (successor == emptyWordId)) {
+        break;
+      }
+
+      lastLength = tweet.length();
+      if (lastLength > 0) {
+        tweet.append(' ');
+      }
+      appendWord(successor, tweet);
+      predecessor = successor;
+    }
+
+    if (tweet.length() > WordSampler.MAX_CHARS) {
+      tweet.setLength(lastLength);
+    }
+
+    return tweet.toString();
+  }
+
+  @Override
+  public void close() {
+    file.close();
+  }
+
+  /**
+   * Successor distribution of a single predecessor.
+   */
+  private class SuccessorDistribution implements SamplingDiscreteDistribution<String> {
+
+    private final int predecessorId;
+
+    private final Random random = new Xoroshiro128PlusRandom();
+
+    SuccessorDistribution(final int predecessorId) {
+      this.predecessorId = predecessorId;
+    }
+
+    @Override
+    public void reseedRandomGenerator(final long seed) {
+      random.setSeed(seed);
+    }
+
+    @Override
+    public String sample() {
+      return sample(random);
+    }
+
+    @Override
+    public String sample(final Random randomSource) {
+      final int successor = sampleSuccessorId(predecessorId, randomSource);
+      return successor == -1 ? "" : getWord(successor);
+    }
+  }
+
+  /**
+   * Writes given matrix into a file that can be mapped by {@link #open(File)}.
+   *
+   * @param matrix Matrix to write.
+   * @param file File to write into.
+   * @throws IOException Thrown if the file cannot be written.
+   */
+  public static void write(final WordMatrix matrix, final File file) throws IOException {
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+      write(matrix, out);
+    }
+  }
+
+  /**
+   * Writes given matrix into the stream. The stream must be at a position that is a multiple of 8
+   * in order to read the matrix by {@link #MappedWordMatrix(MappedFile, long)} afterwards.
+   *
+   * @param matrix Matrix to write.
+   * @param out Stream to write into.
+   * @throws IOException Thrown if the stream cannot be written.
+   */
+  public static void write(final WordMatrix matrix, final DataOutputStream out)
+      throws IOException {
+    final int wordCount = matrix.getVocabularySize();
+    final byte[][] words = new byte[wordCount][];
+    for (int id = 0; id < wordCount; id++) {
+      words[id] = matrix.getWord(id).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // ids of the mapped matrix are the ranks of the words by byte order
+    final Integer[] order = new Integer[wordCount];
+    for (int id = 0; id < wordCount; id++) {
+      order[id] = id;
+    }
+    Arrays.sort(order, (a, b) -> compareBytes(words[a], words[b]));
+    final int[] newIds = new int[wordCount];
+    for (int newId = 0; newId < wordCount; newId++) {
+      newIds[order[newId]] = newId;
+    }
+
+    long wordBytes = 0;
+    long transitionCount = 0;
+    for (int id = 0; id < wordCount; id++) {
+      wordBytes += words[id].length;
+      final MutablePair<Long, Map<Integer, Long>> mapping = matrix.matrix.get(id);
+      transitionCount += mapping == null ? 0 : mapping.getRight().size();
+    }
+
+    final long wordDataPosition = HEADER_SIZE + ((wordCount + 1L) << 3);
+    final long startsPosition = align(wordDataPosition + wordBytes);
+    final long successorIdsPosition = startsPosition + ((wordCount + 1L) << 3);
+    final long cumulativePosition = align(successorIdsPosition + (transitionCount << 2));
+
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(wordCount);
+    out.writeInt(0);
+    out.writeLong(transitionCount);
+    out.writeLong(wordDataPosition);
+    out.writeLong(startsPosition);
+    out.writeLong(successorIdsPosition);
+    out.writeLong(cumulativePosition);
+
+    long offset = 0;
+    for (int newId = 0; newId < wordCount; newId++) {
+      out.writeLong(offset);
+      offset += words[order[newId]].length;
+    }
+    out.writeLong(offset);
+    for (int newId = 0; newId < wordCount; newId++) {
+      out.write(words[order[newId]]);
+    }
+    pad(out, startsPosition - (wordDataPosition + wordBytes));
+
+    long start = 0;
+    for (int newId = 0; newId < wordCount; newId++) {
+      out.writeLong(start);
+      final MutablePair<Long, Map<Integer, Long>> mapping = matrix.matrix.get(order[newId]);
+      start += mapping == null ? 0 : mapping.getRight().size();
+    }
+    out.writeLong(start);
+
+    // successors are sorted once, their aggregated chances are written after all successor ids
+    final double[][] aggregatedChances = new double[wordCount][];
+    for (int newId = 0; newId < wordCount; newId++) {
+      final MutablePair<Long, Map<Integer, Long>> mapping = matrix.matrix.get(order[newId]);
+      if (mapping == null) {
+        continue;
+      }
+
+      final long[] counts = new long[mapping.getRight().size()];
+      final long[] successors = sortedSuccessors(matrix, order[newId], newIds, counts);
+      final double[] chances = new double[successors.length];
+      double aggregatedChance = 0;
+      for (int i = 0; i < successors.length; i++) {
+        out.writeInt((int) (successors[i] >>> 32));
+        aggregatedChance += (double) counts[(int) successors[i]] / (double) mapping.getLeft();
+        chances[i] = aggregatedChance;
+      }
+      aggregatedChances[newId] = chances;
+    }
+    pad(out, cumulativePosition - (successorIdsPosition + (transitionCount << 2)));
+
+    for (final double[] chances : aggregatedChances) {
+      if (chances == null) {
+        continue;
+      }
+      for (final double chance : chances) {
+        out.writeDouble(chance);
+      }
+    }
+  }
+
+  /**
+   * Returns the successors of given predecessor sorted by their new id. Each successor is encoded
+   * as {@code newId << 32 | i} with {@code counts[i]} being set to the count of the successor.
+   */
+  private static long[] sortedSuccessors(final WordMatrix matrix, final int predecessor,
+      final int[] newIds, final long[] counts) {
+    final long[] successors = new long[counts.length];
+    final int[] i = new int[1];
+    matrix.matrix.get(predecessor).getRight().forEach((successor, count) -> {
+      counts[i[0]] = count;
+      successors[i[0]] = ((long) newIds[successor] << 32) | i[0];
+      i[0]++;
+    });
+    Arrays.sort(successors);
+    return successors;
+  }
+
+  private static int compareBytes(final byte[] a, final byte[] b) {
+    final int max = Math.min(a.length, b.length);
+    for (int i = 0; i < max; i++) {
+      final int comparison = (a[i] & 0xFF) - (b[i] & 0xFF);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return a.length - b.length;
+  }
+
+  private static long align(final long position) {
+    return (position + 7) & ~7L;
+  }
+
+  private static void pad(final DataOutputStream out, final long bytes) throws IOException {
+    for (long i = 0; i < bytes; i++) {
+      out.writeByte(0);
+    }
+  }
+
+  /**
+   * Converts a serialized {@link WordMatrix} into a mapped word matrix file.
+   * <ul>
+   * <li>{@code arg[0]} must state a path to a serialized {@link WordMatrix}</li>
+   * <li>{@code arg[1]} must state the path of the file to create</li>
+   * </ul>
+   *
+   * @param args Arguments as stated above.
+   */
+  public static void main(final String[] args) {
+    if (args.length < 2) {
+      throw new IllegalArgumentException("Insufficient arguments");
+    }
+
+    try (ObjectInputStream stream =
+        new ObjectInputStream(new BufferedInputStream(new FileInputStream(args[0])))) {
+      final WordMatrix matrix = (WordMatrix) stream.readObject();
+      write(matrix, new File(args[1]));
+    } catch (IOException | ClassNotFoundException e) {
+      LOGGER.error(e.getMessage(), e);
+    }
+  }
+}
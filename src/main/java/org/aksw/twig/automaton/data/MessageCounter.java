@@ -168,6 +168,27 @@ public class MessageCounter implements Serializable {
     return this;
   }
 
+  /**
+   * Fits an exponential regression to the values of {@link #getMessageCounts()}, i. e. the
+   * regression maps {@code i} to the number of users that have sent {@code i + 1} messages. Message
+   * numbers no user has sent are left out.
+   *
+   * @return Regression.
+   */
+  public SimpleExponentialRegression getRegression() {
+    getMessageCounts(); // Init array list if necessary
+    final SimpleExponentialRegression regression = new SimpleExponentialRegression();
+    for (int i = 0; i < messageCounts.size(); i++) {
+      if (messageCounts.get(i) == 0.0) {
+        continue;
+      }
+
+      regression.addData(i, messageCounts.get(i));
+    }
+
+    return regression;
+  }
+
   /**
    * Creates an exponential like distribution over values of {@link #getMessageCounts()}. There must
    * by some messages counted in order for this method to work. Otherwise an
@@ -181,16 +202,8 @@ public class MessageCounter implements Serializable {
           "Cannot create a value distribution of an empty MessageCounter.");
     }
 
-    getMessageCounts(); // Init array list if necessary
-    final SimpleExponentialRegression regression = new SimpleExponentialRegression();
-    for (int i = 0; i < messageCounts.size(); i++) {
-      if (messageCounts.get(i) == 0.0) {
-        continue;
-      }
-
-      regression.addData(i, messageCounts.get(i));
-    }
-
+    final SimpleExponentialRegression regression = getRegression();
+    LOGGER.info("Fitted message counts: {}", regression);
     return ExponentialLikeDistribution.of(regression);
   }
 
@@ -201,6 +214,7 @@ public class MessageCounter implements Serializable {
    * @return {@code this}
    */
   public void merge(final MessageCounter counter) {
+    messageCounts = null;
     counter.userMessageCountMap.entrySet().forEach(entry -> {
       final String userName = entry.getKey();
       userMessageCountMap.put(userName,
@@ -0,0 +1,293 @@
+package org.aksw.twig.automaton.data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.aksw.twig.model.TWIGModelWrapper;
+import org.apache.jena.rdf.model.Model;
+
+/**
+ * Frequency distribution of words succeeding a context of the {@link #getOrder()} preceding words.
+ * With an order of {@code 1} this is the same model as a {@link WordMatrix}.<br>
+ * <br>
+ * Contexts are not stored as words but as 64 bit keys hashed from fingerprints of their words (see
+ * {@link #contextKey(long[])}). Fingerprints only depend on the word itself, so keys are equal in
+ * all matrices and matrices created from different files can be merged by
+ * {@link #merge(NGramMatrix)}. A transition is one entry of three primitive arrays, i. e. it needs
+ * 20 bytes plus the free slots of the open addressing table.<br>
+ * <br>
+ * Sentences are padded with {@code ""} (the empty word), i. e. the context of the first word of a
+ * sentence consists of empty words only and the last word of a sentence is followed by {@code ""}.
+ * Use {@link NGramSampler} to sample from the matrix.
+ */
+public class NGramMatrix implements Serializable {
+
+  private static final long serialVersionUID = -3906006063468000468L;
+
+  private static final double LOAD_FACTOR = 0.75;
+
+  private static final int INITIAL_CAPACITY = 1 << 10;
+
+  private final int order;
+
+  final List<String> words = new ArrayList<>();
+
+  private final Map<String, Integer> wordIds = new HashMap<>();
+
+  // open addressing table of transitions, a slot is empty if its count is 0
+
+  long[] contextKeys = new long[INITIAL_CAPACITY];
+
+  int[] successorIds = new int[INITIAL_CAPACITY];
+
+  long[] counts = new long[INITIAL_CAPACITY];
+
+  private int size;
+
+  /**
+   * Creates a new empty matrix.
+   *
+   * @param order Number of words a context consists of.
+   * @throws IllegalArgumentException Thrown if {@code order} is less than {@code 1}.
+   */
+  public NGramMatrix(final int order) throws IllegalArgumentException {
+    if (order < 1) {
+      throw new IllegalArgumentException("Order must be at least 1.");
+    }
+    this.order = order;
+  }
+
+  /**
+   * Returns the number of words a context consists of.
+   *
+   * @return Order.
+   */
+  public int getOrder() {
+    return order;
+  }
+
+  /**
+   * Returns the number of distinct transitions from a context to a successor.
+   *
+   * @return Number of transitions.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of distinct words in the matrix.
+   *
+   * @return Number of words.
+   */
+  public int getVocabularySize() {
+    return words.size();
+  }
+
+  /**
+   * Returns the frequency of {@code successor} following the given context.
+   *
+   * @param context Context of exactly {@link #getOrder()} words, oldest word first.
+   * @param successor Successor.
+   * @return Frequency.
+   * @throws IllegalArgumentException Thrown if the context does not consist of
+   *         {@link #getOrder()} words.
+   */
+  public long getFrequency(final List<String> context, final String successor)
+      throws IllegalArgumentException {
+    final Integer successorId = wordIds.get(successor);
+    if (successorId == null) {
+      return 0;
+    }
+
+    final int slot = find(contextKey(fingerprints(context)), successorId);
+    return slot == -1 ? 0 : counts[slot];
+  }
+
+  /**
+   * Adds {@code count} to the frequency of {@code successor} following the given context.
+   *
+   * @param context Context of exactly {@link #getOrder()} words, oldest word first.
+   * @param successor Successor.
+   * @param count Frequency to add.
+   * @throws IllegalArgumentException Thrown if the context does not consist of
+   *         {@link #getOrder()} words or {@code count} is not positive.
+   */
+  public void alterFrequency(final List<String> context, final String successor, final long count)
+      throws IllegalArgumentException {
+    add(contextKey(fingerprints(context)), successor, count);
+  }
+
+  /**
+   * Adds all sentences of the tweet to the matrix.
+   *
+   * @param tweet Tweet to add.
+   */
+  public void addTweet(final String tweet) {
+    final long[] context = new long[order];
+    final long emptyFingerprint = fingerprint("");
+    for (List<String> sentence : new TweetSplitter(tweet).getSentences()) {
+      Arrays.fill(context, emptyFingerprint);
+      for (String word : sentence) {
+        add(contextKey(context), word, 1);
+        System.arraycopy(context, 1, context, 0, order - 1);
+        context[order - 1] = fingerprint(word);
+      }
+      add(contextKey(context), "", 1);
+    }
+  }
+
+  /**
+   * Adds all tweets of a {@link Model} to the matrix. Tweets are recognized by the predicate
+   * {@link TWIGModelWrapper#TWEET_CONTENT_PROPERTY_NAME}.
+   *
+   * @param model Model to add.
+   */
+  public void addModel(final Model model) {
+    model.listStatements().forEachRemaining(statement -> {
+      if (statement.getPredicate().getLocalName()
+          .equals(TWIGModelWrapper.TWEET_CONTENT_PROPERTY_NAME)) {
+        addTweet(statement.getObject().asLiteral().getString());
+      }
+    });
+  }
+
+  /**
+   * Merges the frequency distribution of given matrix into this.
+   *
+   * @param matrix Matrix to merge.
+   * @throws IllegalArgumentException Thrown if the orders of the matrices differ.
+   */
+  public void merge(final NGramMatrix matrix) throws IllegalArgumentException {
+    if (matrix.order != order) {
+      throw new IllegalArgumentException("Orders of the matrices differ.");
+    }
+
+    for (int slot = 0; slot < matrix.counts.length; slot++) {
+      if (matrix.counts[slot] != 0) {
+        add(matrix.contextKeys[slot], matrix.words.get(matrix.successorIds[slot]),
+            matrix.counts[slot]);
+      }
+    }
+  }
+
+  private void add(final long contextKey, final String successor, final long count) {
+    if (count <= 0) {
+      throw new IllegalArgumentException("Count must be positive.");
+    }
+
+    Integer successorId = wordIds.get(successor);
+    if (successorId == null) {
+      successorId = words.size();
+      words.add(successor);
+      wordIds.put(successor, successorId);
+    }
+
+    int slot = slot(contextKey, successorId, counts.length);
+    while (counts[slot] != 0) {
+      if ((contextKeys[slot] == contextKey) && (successorIds[slot] == successorId)) {
+        counts[slot] += count;
+        return;
+      }
+      slot = (slot + 1) & (counts.length - 1);
+    }
+
+    contextKeys[slot] = contextKey;
+    successorIds[slot] = successorId;
+    counts[slot] = count;
+    if (++size > (counts.length * LOAD_FACTOR)) {
+      resize();
+    }
+  }
+
+  private int find(final long contextKey, final int successorId) {
+    for (int slot = slot(contextKey, successorId, counts.length); counts[slot] != 0; slot =
+        (slot + 1) & (counts.length - 1)) {
+      if ((contextKeys[slot] == contextKey) && (successorIds[slot] == successorId)) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  private void resize() {
+    final long[] oldContextKeys = contextKeys;
+    final int[] oldSuccessorIds = successorIds;
+    final long[] oldCounts = counts;
+    final int capacity = oldCounts.length << 1;
+    contextKeys = new long[capacity];
+    successorIds = new int[capacity];
+    counts = new long[capacity];
+
+    for (int i = 0; i < oldCounts.length; i++) {
+      if (oldCounts[i] != 0) {
+        int slot = slot(oldContextKeys[i], oldSuccessorIds[i], capacity);
+        while (counts[slot] != 0) {
+          slot = (slot + 1) & (capacity - 1);
+        }
+        contextKeys[slot] = oldContextKeys[i];
+        successorIds[slot] = oldSuccessorIds[i];
+        counts[slot] = oldCounts[i];
+      }
+    }
+  }
+
+  private static int slot(final long contextKey, final int successorId, final int capacity) {
+    return (int) mix(contextKey + (successorId * 0x9E3779B97F4A7C15L)) & (capacity - 1);
+  }
+
+  private long[] fingerprints(final List<String> context) throws IllegalArgumentException {
+    if (context.size() != order) {
+      throw new IllegalArgumentException("Context must consist of " + order + " words.");
+    }
+
+    final long[] fingerprints = new long[order];
+    for (int i = 0; i < order; i++) {
+      fingerprints[i] = fingerprint(context.get(i));
+    }
+    return fingerprints;
+  }
+
+  /**
+   * Returns a 64 bit fingerprint of the word that only depends on its characters.
+   *
+   * @param word Word.
+   * @return Fingerprint.
+   */
+  static long fingerprint(final String word) {
+    // FNV-1a over the UTF-16 code units
+    long hash = 0xCBF29CE484222325L;
+    for (int i = 0; i < word.length(); i++) {
+      hash ^= word.charAt(i);
+      hash *= 0x100000001B3L;
+    }
+    return mix(hash);
+  }
+
+  /**
+   * Returns the key of a context given by the fingerprints of its words, oldest word first.
+   *
+   * @param fingerprints Fingerprints of the words.
+   * @return Context key.
+   */
+  static long contextKey(final long[] fingerprints) {
+    long key = 0;
+    for (long fingerprint : fingerprints) {
+      key = mix(key + fingerprint);
+    }
+    return key;
+  }
+
+  /**
+   * Finalizer of SplitMix64.
+   */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,71 @@
+package org.aksw.twig.automaton.data;
+
+import org.aksw.twig.Const;
+import org.aksw.twig.executors.FileReadingSuspendSupplier;
+import org.aksw.twig.files.FileHandler;
+import org.aksw.twig.model.TWIGModelWrapper;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Creates multiple {@link NGramMatrix} objects by parsing files as {@link TWIGModelWrapper} and
+ * adding them to the matrix. Parsed objects will then be merged into one result.
+ */
+public class NGramMatrixHandler extends FileReadingSuspendSupplier<NGramMatrix> {
+
+  private static final Logger LOGGER = LogManager.getLogger(NGramMatrixHandler.class);
+
+  private final int order;
+
+  private final NGramMatrix mergedResult;
+
+  public NGramMatrixHandler(Collection<File> filesToParse, int order) {
+    super(filesToParse);
+    this.order = order;
+    this.mergedResult = new NGramMatrix(order);
+  }
+
+  @Override
+  public Callable<NGramMatrix> getFileProcessor(File file) {
+    return () -> {
+      LOGGER.info("Parsing file {}", file.getName());
+      NGramMatrix matrix = new NGramMatrix(order);
+      matrix.addModel(TWIGModelWrapper.read(file).getModel());
+      return matrix;
+    };
+  }
+
+  @Override
+  public void addResult(NGramMatrix result) {
+    synchronized (mergedResult) {
+      LOGGER.info("Merging result");
+      mergedResult.merge(result);
+    }
+  }
+
+  @Override
+  public NGramMatrix getMergedResult() {
+    return mergedResult;
+  }
+
+  /**
+   * Runs a {@link org.aksw.twig.executors.SelfSuspendingExecutor} with a {@link NGramMatrixHandler}
+   * as {@link org.aksw.twig.executors.SuspendSupplier}. The order of the matrix is read from
+   * {@link Const#NGRAM_ORDER}. Arguments must state an output file to serialize the resulting
+   * {@link NGramMatrix}. Arguments should state files to parse and must be formatted according to
+   * {@link FileHandler#readArgs(String[])}.
+   * 
+   * @param args Arguments.
+   */
+  public static void main(String[] args) {
+    Pair<File, Set<File>> fileArgs = FileHandler.readArgs(args);
+    NGramMatrixHandler handler = new NGramMatrixHandler(fileArgs.getRight(), Const.NGRAM_ORDER);
+    FileReadingSuspendSupplier.start("ngram_matrix.obj", fileArgs.getLeft(), handler);
+  }
+}
@@ -0,0 +1,268 @@
+package org.aksw.twig.automaton.data;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.aksw.twig.statistics.SamplingDiscreteDistribution;
+import org.aksw.twig.statistics.Xoroshiro128PlusRandom;
+import org.aksw.twig.structs.FrontCodedDictionary;
+
+/**
+ * Samples tweets from an {@link NGramMatrix}. Transitions occurring less than a minimum count are
+ * pruned and the remaining chances are normalized per context.<br>
+ * <br>
+ * All data is held in primitive arrays: Each context needs one sorted {@code long} key and one
+ * {@code int} offset, each transition one {@code int} successor id and one {@code double}
+ * aggregated chance. Contexts are looked up by binary search on the keys. Words are held in a
+ * {@link FrontCodedDictionary}.<br>
+ * <br>
+ * A sampled tweet ends if the empty word is sampled, if the current context has never been seen or
+ * if it reaches {@link WordSampler#MAX_CHARS} characters.
+ */
+public class NGramSampler implements SamplingWordPredecessorSuccessorDistribution {
+
+  private final int order;
+
+  private final FrontCodedDictionary dictionary;
+
+  /**
+   * Fingerprint of each word by its id in {@link #dictionary}.
+   */
+  private final long[] fingerprints;
+
+  private final int emptyWordId;
+
+  /**
+   * Sorted keys of all contexts.
+   */
+  private final long[] contextKeys;
+
+  /**
+   * Transitions of context {@code i} are stored from {@code contextStarts[i]} to
+   * {@code contextStarts[i + 1]}.
+   */
+  private final int[] contextStarts;
+
+  private final int[] successorIds;
+
+  private final double[] cumulativeChances;
+
+  private final Random r = new Xoroshiro128PlusRandom();
+
+  /**
+   * Creates a new sampler.
+   *
+   * @param matrix Matrix to sample from.
+   * @param minCount Minimum count of a transition. Transitions occurring less often are pruned.
+   */
+  public NGramSampler(final NGramMatrix matrix, final long minCount) {
+    order = matrix.getOrder();
+    dictionary = FrontCodedDictionary.of(matrix.words);
+    final int[] newIds = new int[matrix.words.size()];
+    for (int id = 0; id < newIds.length; id++) {
+      newIds[id] = dictionary.indexOf(matrix.words.get(id));
+    }
+    fingerprints = new long[dictionary.size()];
+    for (int id = 0; id < fingerprints.length; id++) {
+      fingerprints[id] = NGramMatrix.fingerprint(dictionary.get(id));
+    }
+    emptyWordId = dictionary.indexOf("");
+
+    // slots of all transitions that are not pruned
+    int transitionCount = 0;
+    final int[] slots = new int[matrix.size()];
+    for (int slot = 0; slot < matrix.counts.length; slot++) {
+      if ((matrix.counts[slot] != 0) && (matrix.counts[slot] >= minCount)) {
+        slots[transitionCount++] = slot;
+      }
+    }
+
+    final long[] sortedKeys = new long[transitionCount];
+    for (int i = 0; i < transitionCount; i++) {
+      sortedKeys[i] = matrix.contextKeys[slots[i]];
+    }
+    Arrays.sort(sortedKeys);
+    int contextCount = 0;
+    for (int i = 0; i < transitionCount; i++) {
+      if ((contextCount == 0) || (sortedKeys[i] != sortedKeys[contextCount - 1])) {
+        sortedKeys[contextCount++] = sortedKeys[i];
+      }
+    }
+    contextKeys = Arrays.copyOf(sortedKeys, contextCount);
+
+    // bucket transitions by context
+    final int[] contexts = new int[transitionCount];
+    contextStarts = new int[contextCount + 1];
+    for (int i = 0; i < transitionCount; i++) {
+      contexts[i] = Arrays.binarySearch(contextKeys, matrix.contextKeys[slots[i]]);
+      contextStarts[contexts[i] + 1]++;
+    }
+    for (int i = 0; i < contextCount; i++) {
+      contextStarts[i + 1] += contextStarts[i];
+    }
+    final int[] positions = Arrays.copyOf(contextStarts, contextCount);
+    final int[] bucketedSlots = new int[transitionCount];
+    for (int i = 0; i < transitionCount; i++) {
+      bucketedSlots[positions[contexts[i]]++] = slots[i];
+    }
+
+    successorIds = new int[transitionCount];
+    cumulativeChances = new double[transitionCount];
+    for (int context = 0; context < contextCount; context++) {
+      final int from = contextStarts[context];
+      final int to = contextStarts[context + 1];
+
+      // order successors by id and keep the index of their slot in the lower bits
+      final long[] successors = new long[to - from];
+      long total = 0;
+      for (int i = from; i < to; i++) {
+        final int slot = bucketedSlots[i];
+        successors[i - from] = ((long) newIds[matrix.successorIds[slot]] << 32) | i;
+        total += matrix.counts[slot];
+      }
+      Arrays.sort(successors);
+
+      long sum = 0;
+      for (int i = from; i < to; i++) {
+        successorIds[i] = (int) (successors[i - from] >>> 32);
+        sum += matrix.counts[bucketedSlots[(int) successors[i - from]]];
+        cumulativeChances[i] = (double) sum / total;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of contexts left after pruning.
+   *
+   * @return Number of contexts.
+   */
+  public int getContextCount() {
+    return contextKeys.length;
+  }
+
+  /**
+   * Returns the number of transitions left after pruning.
+   *
+   * @return Number of transitions.
+   */
+  public int getTransitionCount() {
+    return successorIds.length;
+  }
+
+  private long[] startContext() {
+    final long[] context = new long[order];
+    Arrays.fill(context, NGramMatrix.fingerprint(""));
+    return context;
+  }
+
+  /**
+   * Samples a successor of the context with given index.
+   */
+  private int sampleSuccessorId(final int context, final Random randomSource) {
+    // first successor with an aggregated chance greater than the random value
+    final double random = randomSource.nextDouble();
+    final int to = contextStarts[context + 1];
+    int base = contextStarts[context];
+    int length = to - base;
+    while (length > 1) {
+      final int half = length >>> 1;
+      base = cumulativeChances[base + half] <= random ? base + half : base;
+      length -= half;
+    }
+    if ((cumulativeChances[base] <= random) && (base < (to - 1))) {
+      base++;
+    }
+
+    return successorIds[base];
+  }
+
+  /**
+   * Returns the distribution of the first word of a sentence succeeding {@code predecessor}. With
+   * an order greater than {@code 1} the context is padded with empty words.
+   *
+   * @param predecessor Predecessor to get the distribution for.
+   * @return Successor distribution.
+   */
+  @Override
+  public SamplingDiscreteDistribution<String> getSuccessorDistribution(final String predecessor) {
+    final long[] context = startContext();
+    context[order - 1] = NGramMatrix.fingerprint(predecessor);
+    final int index = Arrays.binarySearch(contextKeys, NGramMatrix.contextKey(context));
+    if (index < 0) {
+      return WordSampler.EMPTY_WORD_SAMPLER;
+    }
+
+    return new SuccessorDistribution(index);
+  }
+
+  @Override
+  public void reseedRandomGenerator(final long seed) {
+    r.setSeed(seed);
+  }
+
+  @Override
+  public String sample() {
+    return sample(r);
+  }
+
+  @Override
+  public String sample(final Random randomSource) {
+    final StringBuilder tweet = new StringBuilder();
+    final long[] context = startContext();
+    int lastLength = 0;
+    while (tweet.length() < WordSampler.MAX_CHARS) {
+      final int index = Arrays.binarySearch(contextKeys, NGramMatrix.contextKey(context));
+      if (index < 0) {
+        break;
+      }
+
+      final int successor = sampleSuccessorId(index, randomSource);
+      if (successor == emptyWordId) {
+        break;
+      }
+
+      lastLength = tweet.length();
+      if (lastLength > 0) {
+        tweet.append(' ');
+      }
+      tweet.append(dictionary.get(successor));
+      System.arraycopy(context, 1, context, 0, order - 1);
+      context[order - 1] = fingerprints[successor];
+    }
+
+    if (tweet.length() > WordSampler.MAX_CHARS) {
+      tweet.setLength(lastLength);
+    }
+
+    return tweet.toString();
+  }
+
+  /**
+   * Successor distribution of a single context.
+   */
+  private class SuccessorDistribution implements SamplingDiscreteDistribution<String> {
+
+    private final int context;
+
+    private final Random random = new Xoroshiro128PlusRandom();
+
+    SuccessorDistribution(final int context) {
+      this.context = context;
+    }
+
+    @Override
+    public void reseedRandomGenerator(final long seed) {
+      random.setSeed(seed);
+    }
+
+    @Override
+    public String sample() {
+      return sample(random);
+    }
+
+    @Override
+    public String sample(final Random randomSource) {
+      return dictionary.get(sampleSuccessorId(context, randomSource));
+    }
+  }
+}
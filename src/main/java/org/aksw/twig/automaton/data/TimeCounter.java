@@ -1,14 +1,20 @@
 package org.aksw.twig.automaton.data;
 
+import org.aksw.twig.Const;
 import org.aksw.twig.model.TWIGModelWrapper;
+import org.aksw.twig.statistics.MutableSamplingDiscreteDistribution;
 import org.aksw.twig.statistics.SamplingDiscreteDistribution;
-import org.aksw.twig.statistics.SamplingDiscreteTreeDistribution;
+import org.aksw.twig.statistics.SamplingDiscreteDistributionType;
+import org.aksw.twig.statistics.SamplingDiscreteIntArrayDistribution;
+import org.aksw.twig.statistics.SamplingDiscreteIntDistribution;
+import org.aksw.twig.statistics.Xoroshiro128PlusRandom;
 import org.apache.jena.rdf.model.Literal;
 import org.apache.jena.rdf.model.Model;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Random;
 
 /**
  * Holds a frequency distribution of timestamps with hour and minute.
@@ -23,6 +29,10 @@ public class TimeCounter implements Serializable {
 
   private static final int MINUTES = 60;
 
+  public static final int MINUTES_OF_DAY = HOURS * MINUTES;
+
+  public static final int SECONDS_OF_DAY = MINUTES_OF_DAY * 60;
+
   private long[][] tweetTimes = new long[HOURS][MINUTES];
 
   /**
@@ -88,15 +98,92 @@ public class TimeCounter implements Serializable {
     }
   }
 
+  /**
+   * Returns the timestamp counts by minute of the day, i. e. value {@code 60 * h + m} is the count
+   * of {@code h:m} o'clock.
+   * 
+   * @return Counts of the minutes {@code 0} to {@code MINUTES_OF_DAY - 1}.
+   */
+  public long[] getMinuteOfDayFrequencies() {
+    long[] frequencies = new long[MINUTES_OF_DAY];
+    for (int h = 0; h < HOURS; h++) {
+      System.arraycopy(tweetTimes[h], 0, frequencies, h * MINUTES, MINUTES);
+    }
+    return frequencies;
+  }
+
+  /**
+   * Creates a discrete distribution of minutes of the day by the timestamp counts as frequency
+   * distribution. Value {@code 60 * h + m} stands for {@code h:m} o'clock. Other than
+   * {@link #getValueDistribution()} values can be sampled without boxing, also many at once.
+   * 
+   * @return Discrete distribution of values {@code 0} to {@code MINUTES_OF_DAY - 1}.
+   */
+  public SamplingDiscreteIntArrayDistribution getMinuteOfDayDistribution() {
+    return SamplingDiscreteIntArrayDistribution.of(getMinuteOfDayFrequencies());
+  }
+
+  /**
+   * Creates a discrete distribution of seconds of the day. Minutes are sampled by the timestamp
+   * counts as frequency distribution like in {@link #getMinuteOfDayDistribution()}, seconds are
+   * uniformly distributed within each minute. Minutes are sampled without boxing by a distribution
+   * of type {@link Const#DISTRIBUTION_TYPE}, see
+   * {@link SamplingDiscreteDistributionType#createInt(long[])}.
+   * 
+   * @return Discrete distribution of values {@code 0} to {@code SECONDS_OF_DAY - 1}.
+   */
+  public SamplingDiscreteIntDistribution getSecondOfDayDistribution() {
+    return getSecondOfDayDistribution(getMinuteOfDayFrequencies());
+  }
+
+  /**
+   * Creates a discrete distribution of seconds of the day like {@link #getSecondOfDayDistribution()}
+   * of frequencies as returned by {@link #getMinuteOfDayFrequencies()}. Minutes are sampled by a
+   * distribution of type {@link Const#DISTRIBUTION_TYPE}.
+   * 
+   * @param minuteOfDayFrequencies Counts of the minutes of the day.
+   * @return Discrete distribution of values {@code 0} to {@code SECONDS_OF_DAY - 1}.
+   */
+  public static SamplingDiscreteIntDistribution getSecondOfDayDistribution(
+      long[] minuteOfDayFrequencies) {
+    return getSecondOfDayDistribution(minuteOfDayFrequencies, Const.DISTRIBUTION_TYPE);
+  }
+
+  /**
+   * Creates a discrete distribution of seconds of the day like
+   * {@link #getSecondOfDayDistribution(long[])}, but minutes are sampled by a distribution of given
+   * type.
+   * 
+   * @param minuteOfDayFrequencies Counts of the minutes of the day.
+   * @param type Type of the distribution of minutes.
+   * @return Discrete distribution of values {@code 0} to {@code SECONDS_OF_DAY - 1}.
+   */
+  public static SamplingDiscreteIntDistribution getSecondOfDayDistribution(
+      long[] minuteOfDayFrequencies, SamplingDiscreteDistributionType type) {
+    return new SecondOfDayDistribution(type.createInt(minuteOfDayFrequencies));
+  }
+
   /**
    * Creates a discrete distribution frequency measure by the timestamp counts as frequency
-   * distribution.
+   * distribution. The distribution will be of type {@link Const#DISTRIBUTION_TYPE}.
    * 
    * @return Discrete distribution.
    */
   public SamplingDiscreteDistribution<LocalTime> getValueDistribution() {
-    SamplingDiscreteTreeDistribution<LocalTime> distribution =
-        new SamplingDiscreteTreeDistribution<>(DISTRIBUTION_CHANCE_DELTA);
+    return getValueDistribution(Const.DISTRIBUTION_TYPE);
+  }
+
+  /**
+   * Creates a discrete distribution frequency measure by the timestamp counts as frequency
+   * distribution.
+   * 
+   * @param type Type of the distribution.
+   * @return Discrete distribution.
+   */
+  public SamplingDiscreteDistribution<LocalTime> getValueDistribution(
+      SamplingDiscreteDistributionType type) {
+    MutableSamplingDiscreteDistribution<LocalTime> distribution =
+        type.create(DISTRIBUTION_CHANCE_DELTA);
 
     double sum = 0;
     for (int h = 0; h < HOURS; h++) {
@@ -113,7 +200,59 @@ public class TimeCounter implements Serializable {
         }
       }
     }
+    distribution.seal();
 
     return distribution;
   }
+
+  /**
+   * Samples a minute of the day and a uniformly distributed second within it.
+   */
+  private static class SecondOfDayDistribution implements SamplingDiscreteIntDistribution {
+
+    private final SamplingDiscreteIntDistribution minutes;
+
+    private final Random random = new Xoroshiro128PlusRandom();
+
+    SecondOfDayDistribution(SamplingDiscreteIntDistribution minutes) {
+      this.minutes = minutes;
+    }
+
+    @Override
+    public void reseedRandomGenerator(long seed) {
+      random.setSeed(seed);
+    }
+
+    @Override
+    public Integer sample() {
+      return sample(random);
+    }
+
+    @Override
+    public Integer sample(Random r) {
+      return minutes.getSupportSize() == 0 ? null : sampleInt(r);
+    }
+
+    @Override
+    public int sampleInt(Random r) {
+      return (minutes.sampleInt(r) * MINUTES) + r.nextInt(MINUTES);
+    }
+
+    /**
+     * Samples all minutes at once and then the seconds within them, so the values differ from
+     * those sampled one by one by {@link #sampleInt(Random)} with the same source of randomness.
+     */
+    @Override
+    public void sample(int n, Random r, long[] out) {
+      minutes.sample(n, r, out);
+      for (int i = 0; i < n; i++) {
+        out[i] = (out[i] * MINUTES) + r.nextInt(MINUTES);
+      }
+    }
+
+    @Override
+    public long getSupportSize() {
+      return minutes.getSupportSize() * MINUTES;
+    }
+  }
 }
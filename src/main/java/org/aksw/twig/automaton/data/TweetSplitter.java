@@ -36,6 +36,8 @@ class TweetSplitter implements Iterable<Pair<String, String>> {
 
   private final List<Pair<String, String>> split = new LinkedList<>();
 
+  private final List<List<String>> sentences = new LinkedList<>();
+
   /**
    * Returns a stream to all pairs of predecessors and successors.
    * 
@@ -46,6 +48,15 @@ class TweetSplitter implements Iterable<Pair<String, String>> {
     return this.split.stream();
   }
 
+  /**
+   * Returns all non-empty sentences of the tweet as lists of their words.
+   * 
+   * @return Sentences of the tweet.
+   */
+  public List<List<String>> getSentences() {
+    return this.sentences;
+  }
+
   @Override
   public Iterator<Pair<String, String>> iterator() {
     return this.split.iterator();
@@ -63,17 +74,20 @@ class TweetSplitter implements Iterable<Pair<String, String>> {
       String[] words = sentence.split(WORD_DELIMITING_REGEX);
 
       String lastWord = "";
+      List<String> sentenceWords = new ArrayList<>(words.length);
       for (String word : words) {
         if (word.equals("")) {
           continue;
         }
 
         split.add(new ImmutablePair<>(lastWord, word));
+        sentenceWords.add(word);
         lastWord = word;
       }
 
       if (!lastWord.equals("")) {
         split.add(new ImmutablePair<>(lastWord, ""));
+        this.sentences.add(sentenceWords);
       }
     }
   }
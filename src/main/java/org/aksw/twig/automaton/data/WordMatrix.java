@@ -1,15 +1,18 @@
 package org.aksw.twig.automaton.data;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 import org.aksw.twig.model.TWIGModelWrapper;
+import org.aksw.twig.structs.FrontCodedDictionary;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.jena.rdf.model.Model;
@@ -41,7 +44,13 @@ import org.apache.logging.log4j.Logger;
  * </pre>
  *
  * {@code matrix.getChance("a", "b");} will return {@code 0.6} whereas
- * {@code matrix.getChance("a", "c");} will return {@code 0.4};
+ * {@code matrix.getChance("a", "c");} will return {@code 0.4};<br>
+ * <br>
+ *
+ * Words are referenced by ids in {@link #matrix}, use {@link #getId(String)} and
+ * {@link #getWord(int)} to translate between words and ids. By invocation of
+ * {@link #compactIndex()} the vocabulary will be moved from hash maps into a
+ * {@link FrontCodedDictionary}. Words added afterwards are kept in hash maps again.
  */
 public class WordMatrix implements Serializable {
 
@@ -49,10 +58,25 @@ public class WordMatrix implements Serializable {
 
   private static final Logger LOGGER = LogManager.getLogger(WordMatrix.class);
 
-  public final Map<Integer, String> index = new HashMap<>();
-  public final Map<String, Integer> indexReverse = new HashMap<>();
+  /**
+   * Words that are not in {@link #dictionary} by id. Use {@link #getWord(int)} and
+   * {@link #getId(String)} to look up words since this map is emptied by {@link #compactIndex()}.
+   */
+  private final Map<Integer, String> index = new HashMap<>();
+
+  /**
+   * Ids of the words that are not in {@link #dictionary}.
+   */
+  private final Map<String, Integer> indexReverse = new HashMap<>();
+
   public final Map<Integer, MutablePair<Long, Map<Integer, Long>>> matrix = new HashMap<>();
 
+  /**
+   * Compacted vocabulary holding ids {@code 0} to {@code dictionary.size() - 1}. Ids of words that
+   * are not in the dictionary start at {@code dictionary.size()}.
+   */
+  private FrontCodedDictionary dictionary;
+
   private boolean alteredSinceCached = true;
 
   private double cachedMeanChance;
@@ -72,9 +96,15 @@ public class WordMatrix implements Serializable {
     if ((word == null)) {
       throw new NullPointerException("Parameter is Null!");
     }
+    if (dictionary != null) {
+      final int id = dictionary.indexOf(word);
+      if (id != -1) {
+        return id;
+      }
+    }
     Integer key = null;
     if (!indexReverse.containsKey(word)) {
-      key = index.size();
+      key = dictionarySize() + index.size();
       index.put(key, word);
       indexReverse.put(word, key);
     } else {
@@ -83,6 +113,110 @@ public class WordMatrix implements Serializable {
     return key;
   }
 
+  private int dictionarySize() {
+    return dictionary == null ? 0 : dictionary.size();
+  }
+
+  /**
+   * Returns the number of words known to this matrix. Valid ids range from {@code 0} to
+   * {@code getVocabularySize() - 1}.
+   *
+   * @return Number of words.
+   */
+  public int getVocabularySize() {
+    return dictionarySize() + index.size();
+  }
+
+  /**
+   * Returns the id of given word or {@code -1} if the word is unknown.
+   *
+   * @param word Word to get the id of.
+   * @return Id of the word.
+   */
+  public int getId(final String word) {
+    if (dictionary != null) {
+      final int id = dictionary.indexOf(word);
+      if (id != -1) {
+        return id;
+      }
+    }
+    return indexReverse.getOrDefault(word, -1);
+  }
+
+  /**
+   * Returns the word with given id or {@code null} if there is no such word.
+   *
+   * @param id Id of the word.
+   * @return Word.
+   */
+  public String getWord(final int id) {
+    if ((id >= 0) && (id < dictionarySize())) {
+      return dictionary.get(id);
+    }
+    return index.get(id);
+  }
+
+  /**
+   * Appends the word with given id to the string builder. Words of the compacted vocabulary are
+   * decoded into the builder without creating a {@link String}.
+   *
+   * @param id Id of the word.
+   * @param builder Builder to append to.
+   * @return {@code builder}
+   * @throws IllegalArgumentException Thrown if there is no word with given id.
+   */
+  public StringBuilder appendWord(final int id, final StringBuilder builder)
+      throws IllegalArgumentException {
+    if ((id >= 0) && (id < dictionarySize())) {
+      return dictionary.appendTo(id, builder);
+    }
+
+    final String word = index.get(id);
+    if (word == null) {
+      throw new IllegalArgumentException("No word with id " + id);
+    }
+    return builder.append(word);
+  }
+
+  /**
+   * Moves the whole vocabulary into a {@link FrontCodedDictionary} and rewrites all ids in
+   * {@link #matrix} accordingly. Afterwards {@link #index} and {@link #indexReverse} will be empty
+   * and ids will equal the rank of their word in alphabetical order. Does nothing if no word has
+   * been added since the last compaction.
+   */
+  public void compactIndex() {
+    if ((dictionary != null) && index.isEmpty()) {
+      return;
+    }
+
+    final int oldSize = getVocabularySize();
+    final List<String> words = new ArrayList<>(oldSize);
+    for (int id = 0; id < oldSize; id++) {
+      words.add(getWord(id));
+    }
+
+    final FrontCodedDictionary compacted = FrontCodedDictionary.of(words);
+    final int[] newIds = new int[oldSize];
+    for (int id = 0; id < oldSize; id++) {
+      newIds[id] = compacted.indexOf(words.get(id));
+    }
+    words.clear();
+
+    final Map<Integer, MutablePair<Long, Map<Integer, Long>>> remapped =
+        new HashMap<>(matrix.size() * 2);
+    matrix.forEach((predecessor, mapping) -> {
+      final Map<Integer, Long> successors = new HashMap<>(mapping.getRight().size() * 2);
+      mapping.getRight().forEach((successor, count) -> successors.put(newIds[successor], count));
+      remapped.put(newIds[predecessor], new MutablePair<>(mapping.getLeft(), successors));
+    });
+
+    matrix.clear();
+    matrix.putAll(remapped);
+    index.clear();
+    indexReverse.clear();
+    dictionary = compacted;
+  }
+
   /**
    * Alters the frequency distribution: You add {@code count} more occurences of the word
    * {@code predecessor} being followed by {@code successor}.
@@ -141,9 +275,9 @@ public class WordMatrix implements Serializable {
    */
   public void merge(final WordMatrix wordMatrix) {
     wordMatrix.matrix.entrySet().forEach(entry -> {
-      final String predecessor = wordMatrix.index.get(entry.getKey());
+      final String predecessor = wordMatrix.getWord(entry.getKey());
       entry.getValue().getRight().entrySet().forEach(mappedEntry -> {
-        final String successor = wordMatrix.index.get(mappedEntry.getKey());
+        final String successor = wordMatrix.getWord(mappedEntry.getKey());
         alterFrequency(predecessor, successor, mappedEntry.getValue());
       });
     });
@@ -178,7 +312,7 @@ public class WordMatrix implements Serializable {
    * @return Set of predecessors.
    */
   public Set<String> getPredecessors() {
-    return matrix.keySet().stream().map(key -> index.get(key)).collect(Collectors.toSet());
+    return matrix.keySet().stream().map(this::getWord).collect(Collectors.toSet());
   }
 
   /**
@@ -203,6 +337,79 @@ public class WordMatrix implements Serializable {
         Collectors.toMap(Map.Entry::getKey, entry -> (double) entry.getValue() / (double) size));
   }
 
+  /**
+   * Invokes the consumer with the id of every predecessor, i. e. every word that has successors.
+   *
+   * @param consumer Consumer of predecessor ids.
+   */
+  public void forEachPredecessor(final IntConsumer consumer) {
+    matrix.keySet().forEach(consumer::accept);
+  }
+
+  /**
+   * Returns the number of distinct successors of given predecessor or {@code 0} if there is no
+   * mapping for the predecessor.
+   *
+   * @param predecessorId Id of the predecessor.
+   * @return Number of successors.
+   */
+  public int getSuccessorCount(final int predecessorId) {
+    final MutablePair<Long, Map<Integer, Long>> mapping = matrix.get(predecessorId);
+    return mapping == null ? 0 : mapping.getRight().size();
+  }
+
+  /**
+   * Visits all successors of given predecessor. The visitor is handed the primitive id and count
+   * of every successor, no objects will be created on the way. Successors are visited in no
+   * particular order.
+   *
+   * @param predecessorId Id of the predecessor.
+   * @param visitor Visitor of the successors.
+   * @return Sum of the counts of all successors, i. e. the divisor to get succeeding chances.
+   * @throws IllegalArgumentException Thrown if there is no mapping for the predecessor.
+   */
+  public long forEachSuccessor(final int predecessorId, final SuccessorVisitor visitor)
+      throws IllegalArgumentException {
+    final MutablePair<Long, Map<Integer, Long>> mapping = matrix.get(predecessorId);
+    if (mapping == null) {
+      throw new IllegalArgumentException("No mapping found.");
+    }
+
+    mapping.getRight().forEach(visitor);
+    return mapping.getLeft();
+  }
+
+  /**
+   * Visitor of successors by {@link WordMatrix#forEachSuccessor(int, SuccessorVisitor)}.
+   */
+  @FunctionalInterface
+  public interface SuccessorVisitor extends BiConsumer<Integer, Long> {
+
+    /**
+     * Visits a successor.
+     *
+     * @param successorId Id of the successor.
+     * @param count Number of times the successor succeeded the predecessor.
+     */
+    void visit(int successorId, long count);
+
+    @Override
+    default void accept(final Integer successorId, final Long count) {
+      visit(successorId, count);
+    }
+  }
+
+  /**
+   * Creates a {@link ChanceHistogram} over {@link #INSPECTION_BOUNDS} of all transition chances.
+   * Predecessors are processed in parallel in a single pass over the matrix.
+   *
+   * @return Histogram of transition chances.
+   */
+  public ChanceHistogram getChanceHistogram() {
+    return matrix.keySet().parallelStream().collect(() -> new ChanceHistogram(INSPECTION_BOUNDS),
+        (histogram, predecessorId) -> histogram.add(this, predecessorId), ChanceHistogram::merge);
+  }
+
   /**
    * Prints information about distriution of transition chances. For each element {@code x} in
    * {@link #INSPECTION_BOUNDS} you will see the average percentage of words that succeed with a
@@ -210,30 +417,10 @@ public class WordMatrix implements Serializable {
    * Results will be printed by usage of {@link Logger#info(String, Object...)}.
    */
   public void printInspection() {
-    final Map<Double, List<Double>> boundsMap = new HashMap<>(INSPECTION_BOUNDS.length);
-    for (final double bound : INSPECTION_BOUNDS) {
-      boundsMap.put(bound, new LinkedList<>());
-    }
-
-    matrix.entrySet().forEach(entry -> {
-      Set<Map.Entry<Integer, Long>> entries = entry.getValue().getRight().entrySet();
-      final double allEntries = entries.size();
-      final double count = entry.getValue().getLeft();
-      for (final double bound : INSPECTION_BOUNDS) {
-        entries = entries.stream()
-            .filter(successorEntry -> ((double) successorEntry.getValue() / count) <= bound)
-            .collect(Collectors.toSet());
-        boundsMap.get(bound).add(entries.size() / allEntries);
-      }
-    });
-
-    for (final double bound : INSPECTION_BOUNDS) {
-      final List<Double> inBounds = boundsMap.get(bound);
-      final double averageInBounds =
-          inBounds.stream().reduce(0d, (a, b) -> a + b) / inBounds.size();
-
+    final ChanceHistogram histogram = getChanceHistogram();
+    for (int i = 0; i < INSPECTION_BOUNDS.length; i++) {
       LOGGER.info("On average {}% of succeeding words succeed with a chance <= {}.",
-          averageInBounds, bound);
+          histogram.getAverageShare(i), INSPECTION_BOUNDS[i]);
     }
   }
 
@@ -245,18 +432,47 @@ public class WordMatrix implements Serializable {
 
     alteredSinceCached = false;
 
-    final List<Double> chances = new LinkedList<>();
-    matrix.entrySet().forEach(entry -> {
-      final double count = entry.getValue().getLeft();
-      chances.addAll(entry.getValue().getRight().entrySet().stream()
-          .map(successorEntry -> (double) successorEntry.getValue() / count)
-          .collect(Collectors.toList()));
+    final double[] sums = new double[3]; // count, sum, sum of squares
+    final ChanceBuffer buffer = new ChanceBuffer();
+    forEachPredecessor(predecessorId -> {
+      buffer.fill(this, predecessorId);
+      for (int i = 0; i < buffer.size; i++) {
+        sums[0]++;
+        sums[1] += buffer.chances[i];
+        sums[2] += buffer.chances[i] * buffer.chances[i];
+      }
     });
 
-    cachedMeanChance = chances.stream().reduce(0d, Double::sum) / chances.size();
+    cachedMeanChance = sums[1] / sums[0];
     cachedChanceStdDeviation =
-        Math.sqrt((chances.stream().reduce(0d, (a, b) -> a + (b * b)) / chances.size())
-            - (cachedMeanChance * cachedMeanChance));
+        Math.sqrt((sums[2] / sums[0]) - (cachedMeanChance * cachedMeanChance));
+  }
+
+  /**
+   * Reusable buffer of the successor chances of one predecessor.
+   */
+  private static class ChanceBuffer implements SuccessorVisitor {
+
+    private double[] chances = new double[16];
+
+    private int size;
+
+    private double divisor;
+
+    void fill(final WordMatrix matrix, final int predecessorId) {
+      final int successorCount = matrix.getSuccessorCount(predecessorId);
+      if (chances.length < successorCount) {
+        chances = new double[Integer.highestOneBit(successorCount) << 1];
+      }
+      size = 0;
+      divisor = matrix.matrix.get(predecessorId).getLeft();
+      matrix.forEachSuccessor(predecessorId, this);
+    }
+
+    @Override
+    public void visit(final int successorId, final long count) {
+      chances[size++] = count / divisor;
+    }
   }
 
   /**
@@ -44,8 +44,17 @@ public class WordMatrixHandler extends FileReadingSuspendSupplier<WordMatrix> {
     }
   }
 
+  /**
+   * Returns the merged matrix with its vocabulary compacted by {@link WordMatrix#compactIndex()}.
+   * Repeated calls only compact again if results have been added in between.
+   *
+   * @return Merged matrix.
+   */
   @Override
   public WordMatrix getMergedResult() {
+    synchronized (mergedResult) {
+      mergedResult.compactIndex();
+    }
     return mergedResult;
   }
 
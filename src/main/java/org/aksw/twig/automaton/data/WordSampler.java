@@ -4,21 +4,28 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Map;
+import java.util.List;
 import java.util.Random;
 
 import org.aksw.twig.Const;
+import org.aksw.twig.statistics.MutableSamplingDiscreteDistribution;
 import org.aksw.twig.statistics.SamplingDiscreteDistribution;
-import org.aksw.twig.statistics.SamplingDiscreteTreeDistribution;
+import org.aksw.twig.statistics.SamplingDiscreteDistributionType;
+import org.aksw.twig.statistics.Xoroshiro128PlusRandom;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
 /**
- * Transfers a word matrix into multiple {@link SamplingDiscreteTreeDistribution} objects in order
- * to be able to supply random words.
+ * Transfers a word matrix into multiple {@link MutableSamplingDiscreteDistribution} objects in
+ * order to be able to supply random words. The implementation of the distributions is chosen by
+ * {@link SamplingDiscreteDistributionType}. Distributions are either built all at once or on
+ * demand, see {@link #WordSampler(WordMatrix, SamplingDiscreteDistributionType, boolean, long)}.
  */
 public class WordSampler implements SamplingWordPredecessorSuccessorDistribution {
 
@@ -28,43 +35,177 @@ public class WordSampler implements SamplingWordPredecessorSuccessorDistribution
 
   private static final double DISTRIBUTION_CHANCE_DELTA = Const.DISTRIBUTION_CHANCE_DELTA;
 
-  private static final int MAX_CHARS = 140;
+  static final int MAX_CHARS = 140;
+
+  /**
+   * Successor id distributions by predecessor id if the sampler is eager, {@code null} otherwise.
+   * Predecessors without successors have no distribution.
+   */
+  private final SamplingDiscreteDistribution<Integer>[] distributions;
 
-  private final Map<String, SamplingDiscreteTreeDistribution<String>> distributionMap =
-      new HashMap<>();
+  /**
+   * Successor id distributions of recently sampled predecessor ids if the sampler is lazy,
+   * {@code null} otherwise.
+   */
+  private final LoadingCache<Integer, SamplingDiscreteDistribution<Integer>> distributionCache;
 
-  private final Random r = new Random();
+  /**
+   * Number of words in {@link #matrix} when the sampler was created. Words are looked up in the
+   * matrix, so a compacted vocabulary is not held twice.
+   */
+  private final int vocabularySize;
+
+  /**
+   * Id of the empty word that starts and ends sentences or {@code -1} if it is unknown.
+   */
+  private final int emptyWordId;
+
+  private final SamplingDiscreteDistributionType type;
+
+  private final ThreadLocal<SuccessorBuffer> buffers =
+      ThreadLocal.withInitial(SuccessorBuffer::new);
+
+  private final ThreadLocal<StringBuilder> tweetBuilders =
+      ThreadLocal.withInitial(() -> new StringBuilder(MAX_CHARS << 1));
+
+  private final Random r = new Xoroshiro128PlusRandom();
 
   public WordMatrix matrix = null;
 
   /**
-   * Creates a {@link WordSampler} of given {@link WordMatrix}.
+   * Creates a {@link WordSampler} of given {@link WordMatrix} with distributions of type
+   * {@link Const#DISTRIBUTION_TYPE}. The sampler will be lazy if {@link Const#WORD_SAMPLER_LAZY}
+   * is set and then cache up to {@link Const#WORD_SAMPLER_CACHE_SIZE} distributions.
    *
    * @param matrix Matrix to create the sampler of.
    */
   public WordSampler(final WordMatrix matrix) {
+    this(matrix, Const.DISTRIBUTION_TYPE, Const.WORD_SAMPLER_LAZY, Const.WORD_SAMPLER_CACHE_SIZE);
+  }
 
-    this.matrix = matrix;
+  /**
+   * Creates an eager {@link WordSampler} of given {@link WordMatrix}.
+   *
+   * @param matrix Matrix to create the sampler of.
+   * @param type Type of the successor distributions.
+   */
+  public WordSampler(final WordMatrix matrix, final SamplingDiscreteDistributionType type) {
+    this(matrix, type, false, 0);
+  }
 
-    matrix.getPredecessors().forEach(predecessor -> {
-      final WordChanceMapping[] wordChanceMappings = matrix.getMappings(predecessor).entrySet()
-          .stream()
-          .map(entry -> new WordChanceMapping(matrix.index.get(entry.getKey()), entry.getValue()))
-          .toArray(WordChanceMapping[]::new);
+  /**
+   * Creates a {@link WordSampler} of given {@link WordMatrix}.<br>
+   * <br>
+   * An eager sampler builds the successor distributions of all predecessors in parallel in the
+   * constructor. A lazy sampler builds the distribution of a predecessor the first time it is
+   * requested and keeps it in a concurrent cache. Use {@link #prewarm()} to build the
+   * distributions in advance. Lazy samplers need {@code matrix} to stay unaltered.
+   *
+   * @param matrix Matrix to create the sampler of.
+   * @param type Type of the successor distributions.
+   * @param lazy {@code true} if distributions shall be built on demand.
+   * @param maximumCacheSize Maximum number of distributions a lazy sampler keeps. Least recently
+   *        used distributions will be evicted. Values {@code <= 0} mean no limit.
+   */
+  public WordSampler(final WordMatrix matrix, final SamplingDiscreteDistributionType type,
+      final boolean lazy, final long maximumCacheSize) {
 
-      // Sort successors alphabetically
-      Arrays.sort(wordChanceMappings, WordChanceMapping::compareTo);
+    this.matrix = matrix;
+    this.type = type;
 
-      final SamplingDiscreteTreeDistribution<String> distribution;
-      distribution = new SamplingDiscreteTreeDistribution<>(DISTRIBUTION_CHANCE_DELTA);
+    vocabularySize = matrix.getVocabularySize();
+    emptyWordId = matrix.getId("");
 
-      for (int i = 0; i < wordChanceMappings.length; i++) {
-        final WordChanceMapping mapping = wordChanceMappings[i];
-        distribution.addDiscreteEvent(mapping.word, mapping.chance);
+    if (lazy) {
+      distributions = null;
+      final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+      if (maximumCacheSize > 0) {
+        builder.maximumSize(maximumCacheSize);
       }
+      distributionCache =
+          builder.build(new CacheLoader<Integer, SamplingDiscreteDistribution<Integer>>() {
+            @Override
+            public SamplingDiscreteDistribution<Integer> load(final Integer predecessorId) {
+              return createDistribution(predecessorId);
+            }
+          });
+    } else {
+      distributionCache = null;
+      distributions = newDistributionArray(vocabularySize);
+      // distributions only depend on their predecessor, so they can be built in any order
+      matrix.matrix.keySet().parallelStream()
+          .forEach(predecessorId -> distributions[predecessorId] =
+              createDistribution(predecessorId));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static SamplingDiscreteDistribution<Integer>[] newDistributionArray(final int length) {
+    return (SamplingDiscreteDistribution<Integer>[]) new SamplingDiscreteDistribution<?>[length];
+  }
 
-      distributionMap.put(predecessor, distribution);
-    });
+  private SamplingDiscreteDistribution<Integer> createDistribution(final int predecessorId) {
+    final SuccessorBuffer buffer = buffers.get();
+    final long total = buffer.fill(matrix, predecessorId);
+
+    // Sort successors by id which is alphabetical once the matrix index has been compacted
+    Arrays.sort(buffer.successors, 0, buffer.size);
+
+    final MutableSamplingDiscreteDistribution<Integer> distribution;
+    distribution = type.create(DISTRIBUTION_CHANCE_DELTA);
+
+    final List<Integer> successorIds = new ArrayList<>(buffer.size);
+    final double[] chances = new double[buffer.size];
+    for (int i = 0; i < buffer.size; i++) {
+      final long successor = buffer.successors[i];
+      successorIds.add((int) (successor >>> 32));
+      chances[i] = (double) buffer.counts[(int) successor] / (double) total;
+    }
+    distribution.addDiscreteEvents(successorIds, chances);
+    // distributions are shared between sampling threads
+    distribution.seal();
+
+    return distribution;
+  }
+
+  /**
+   * Returns {@code true} if distributions are built on demand.
+   *
+   * @return {@code true} if the sampler is lazy.
+   */
+  public boolean isLazy() {
+    return distributionCache != null;
+  }
+
+  /**
+   * Builds the distributions of all predecessors in parallel if the sampler is lazy. If the cache
+   * is bounded it will only hold as many distributions as it can. Does nothing if the sampler is
+   * eager.
+   */
+  public void prewarm() {
+    if (!isLazy()) {
+      return;
+    }
+
+    LOGGER.info("Prewarming {} distributions", matrix.matrix.size());
+    matrix.matrix.keySet().parallelStream().forEach(distributionCache::getUnchecked);
+  }
+
+  /**
+   * Returns the successor id distribution of given predecessor id or {@code null} if the
+   * predecessor has no successors.
+   */
+  private SamplingDiscreteDistribution<Integer> getDistribution(final int predecessorId) {
+    if ((predecessorId < 0) || (predecessorId >= vocabularySize)) {
+      return null;
+    }
+
+    if (isLazy()) {
+      return matrix.matrix.containsKey(predecessorId)
+          ? distributionCache.getUnchecked(predecessorId) : null;
+    }
+
+    return distributions[predecessorId];
   }
 
   /**
@@ -85,13 +226,14 @@ public class WordSampler implements SamplingWordPredecessorSuccessorDistribution
    */
   @Override
   public SamplingDiscreteDistribution<String> getSuccessorDistribution(final String predecessor) {
-    final SamplingDiscreteDistribution<String> returnValue = distributionMap.get(predecessor);
+    final SamplingDiscreteDistribution<Integer> distribution =
+        getDistribution(matrix.getId(predecessor));
 
-    if (returnValue == null) {
+    if (distribution == null) {
       return EMPTY_WORD_SAMPLER;
     }
 
-    return returnValue;
+    return new WordDistribution(distribution);
   }
 
   /**
@@ -104,59 +246,111 @@ public class WordSampler implements SamplingWordPredecessorSuccessorDistribution
     return sample(r);
   }
 
+  /**
+   * Samples a tweet by walking from the empty word along successor ids until the empty word is
+   * sampled again or {@link #MAX_CHARS} characters are reached. Words are appended to a reusable
+   * buffer by {@link WordMatrix#appendWord(int, StringBuilder)} and the tweet is created once at
+   * the end.
+   *
+   * @param randomSource Source of randomness.
+   * @return Random tweet.
+   */
   @Override
   public String sample(final Random randomSource) {
-    String currentPredecessor = getSuccessorDistribution("").sample(randomSource);
-    int charactersCount = currentPredecessor.length();
-
-    final LinkedList<String> tweet = new LinkedList<>();
-    tweet.add(currentPredecessor);
+    final StringBuilder tweet = tweetBuilders.get();
+    tweet.setLength(0);
+
+    int predecessor = emptyWordId;
+    int lastLength = 0;
+    while (tweet.length() < MAX_CHARS) {
+      final SamplingDiscreteDistribution<Integer> distribution = getDistribution(predecessor);
+      if (distribution == null) {
+        break;
+      }
 
-    while (charactersCount < MAX_CHARS) {
-      final String next = getSuccessorDistribution(currentPredecessor).sample(randomSource);
-      if (next.equals("")) {
+      final int successor = distribution.sample(randomSource);
+      if (successor == emptyWordId) {
         break;
       }
 
-      tweet.add(next);
-      currentPredecessor = next;
-      charactersCount += next.length() + 1; // + 1 for space character
+      lastLength = tweet.length();
+      if (lastLength > 0) {
+        tweet.append(' ');
+      }
+      matrix.appendWord(successor, tweet);
+      predecessor = successor;
+    }
+
+    if (tweet.length() > MAX_CHARS) {
+      tweet.setLength(lastLength);
+    }
+
+    return tweet.toString();
+  }
+
+  /**
+   * View of a successor id distribution that samples words.
+   */
+  private class WordDistribution implements SamplingDiscreteDistribution<String> {
+
+    private final SamplingDiscreteDistribution<Integer> distribution;
+
+    WordDistribution(final SamplingDiscreteDistribution<Integer> distribution) {
+      this.distribution = distribution;
     }
 
-    if (charactersCount > MAX_CHARS) {
-      tweet.removeLast();
+    @Override
+    public void reseedRandomGenerator(final long seed) {
+      distribution.reseedRandomGenerator(seed);
+    }
+
+    @Override
+    public String sample() {
+      return matrix.getWord(distribution.sample());
     }
 
-    return tweet.stream().reduce("", (a, b) -> a.concat(" ").concat(b)).trim();
+    @Override
+    public String sample(final Random randomSource) {
+      return matrix.getWord(distribution.sample(randomSource));
+    }
   }
 
   /**
-   * Wrapper class for a word and it's chance to be a successor.
+   * Reusable buffer of the successors of one predecessor. Successors are encoded as
+   * {@code successorId << 32 | i} with {@code counts[i]} being the count of the successor.
    */
-  private static class WordChanceMapping implements Comparable<WordChanceMapping> {
+  private static class SuccessorBuffer implements WordMatrix.SuccessorVisitor {
 
-    private final String word;
+    private long[] successors = new long[16];
 
-    // TODO: never used?
-    private final double chance;
+    private long[] counts = new long[16];
 
-    WordChanceMapping(final String word, final double chance) {
-      this.word = word;
-      this.chance = chance;
+    private int size;
+
+    long fill(final WordMatrix matrix, final int predecessorId) {
+      final int successorCount = matrix.getSuccessorCount(predecessorId);
+      if (successors.length < successorCount) {
+        successors = new long[Integer.highestOneBit(successorCount) << 1];
+        counts = new long[successors.length];
+      }
+      size = 0;
+      return matrix.forEachSuccessor(predecessorId, this);
     }
 
     @Override
-    public int compareTo(final WordChanceMapping mapping) {
-      return word.compareTo(mapping.word);
+    public void visit(final int successorId, final long count) {
+      counts[size] = count;
+      successors[size] = ((long) successorId << 32) | size;
+      size++;
     }
   }
 
-  private static final EmptyWordSampler EMPTY_WORD_SAMPLER = new EmptyWordSampler();
+  static final EmptyWordSampler EMPTY_WORD_SAMPLER = new EmptyWordSampler();
 
   /**
    * Is used as return value if there is no distribution for a predecessor.
    */
-  private static class EmptyWordSampler implements SamplingDiscreteDistribution<String> {
+  static class EmptyWordSampler implements SamplingDiscreteDistribution<String> {
 
     @Override
     public void reseedRandomGenerator(final long seed) {}
@@ -190,6 +384,7 @@ public class WordSampler implements SamplingWordPredecessorSuccessorDistribution
       final WordMatrix matrix = (WordMatrix) objectInputStream.readObject();
       matrix.printInspection();
       matrix.truncateTo(TRUNCATE_CHANCE);
+      matrix.compactIndex();
       final WordSampler sampler = new WordSampler(matrix);
       for (int i = 0; i < messages; i++) {
         LOGGER.info("Message: {}", sampler.sample());
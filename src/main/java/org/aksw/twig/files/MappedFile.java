@@ -0,0 +1,119 @@
+package org.aksw.twig.files;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Read-only memory mapping of a whole file. Since a single {@link MappedByteBuffer} cannot exceed
+ * {@link Integer#MAX_VALUE} bytes the file is mapped in segments of {@code 2^30} bytes. Values
+ * wider than a byte must be aligned to their own size so that they never span two segments.<br>
+ * <br>
+ * Mapped pages are shared with the operating system's page cache, i. e. multiple processes mapping
+ * the same file share one copy of it. Absolute reads do not alter the buffers, so instances are safe
+ * for concurrent reading.
+ */
+public class MappedFile implements Closeable {
+
+  private static final int SEGMENT_SHIFT = 30;
+
+  private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+  private final MappedByteBuffer[] segments;
+
+  private final long size;
+
+  private MappedFile(final MappedByteBuffer[] segments, final long size) {
+    this.segments = segments;
+    this.size = size;
+  }
+
+  /**
+   * Maps given file read-only into memory.
+   *
+   * @param file File to map.
+   * @return Mapped file.
+   * @throws IOException Thrown if the file cannot be read or mapped.
+   */
+  public static MappedFile open(final File file) throws IOException {
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        FileChannel channel = randomAccessFile.getChannel()) {
+      final long size = channel.size();
+      final MappedByteBuffer[] segments =
+          new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+      for (int i = 0; i < segments.length; i++) {
+        final long position = (long) i << SEGMENT_SHIFT;
+        segments[i] =
+            channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(size - position,
+                SEGMENT_MASK + 1));
+      }
+      // mappings stay valid after the channel has been closed
+      return new MappedFile(segments, size);
+    }
+  }
+
+  /**
+   * Returns the size of the mapped file in bytes.
+   *
+   * @return Size in bytes.
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Returns the byte at given position of the file.
+   *
+   * @param position Position in bytes.
+   * @return Byte.
+   */
+  public byte getByte(final long position) {
+    return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+  }
+
+  /**
+   * Returns the big-endian {@code int} at given position of the file.
+   *
+   * @param position Position in bytes. Must be a multiple of 4.
+   * @return Value.
+   */
+  public int getInt(final long position) {
+    return segments[(int) (position >>> SEGMENT_SHIFT)].getInt((int) (position & SEGMENT_MASK));
+  }
+
+  /**
+   * Returns the big-endian {@code long} at given position of the file.
+   *
+   * @param position Position in bytes. Must be a multiple of 8.
+   * @return Value.
+   */
+  public long getLong(final long position) {
+    return segments[(int) (position >>> SEGMENT_SHIFT)].getLong((int) (position & SEGMENT_MASK));
+  }
+
+  /**
+   * Returns the big-endian {@code double} at given position of the file.
+   *
+   * @param position Position in bytes. Must be a multiple of 8.
+   * @return Value.
+   */
+  public double getDouble(final long position) {
+    return segments[(int) (position >>> SEGMENT_SHIFT)]
+        .getDouble((int) (position & SEGMENT_MASK));
+  }
+
+  /**
+   * Drops the references to the mapped segments, reading afterwards throws a
+   * {@link NullPointerException}. This does not unmap the file since there is no portable way to do
+   * so: The mapping stays in place until the garbage collector has collected the segments.
+   */
+  @Override
+  public void close() {
+    for (int i = 0; i < segments.length; i++) {
+      segments[i] = null;
+    }
+  }
+}
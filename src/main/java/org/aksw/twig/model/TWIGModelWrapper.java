@@ -7,6 +7,7 @@ import java.io.Writer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Collection;
 import java.util.HashSet;
@@ -28,7 +29,7 @@ import org.apache.logging.log4j.Logger;
 /**
  * Wraps a {@link Model} using TWIG ontology to create RDF-graphs.
  */
-public class TWIGModelWrapper {
+public class TWIGModelWrapper implements TweetWriter {
 
   private static final Logger LOGGER = LogManager.getLogger(TWIGModelWrapper.class);
 
@@ -52,7 +53,7 @@ public class TWIGModelWrapper {
   private static final String XSD_IRI = "http://www.w3.org/2001/XMLSchema#";
   private static final String XSD_PREF = "xsd";
 
-  private static final PrefixMapping PREFIX_MAPPING = PrefixMapping.Factory.create();
+  static final PrefixMapping PREFIX_MAPPING = PrefixMapping.Factory.create();
 
   static {
     PREFIX_MAPPING.setNsPrefix(FOAF_PREF, FOAF_IRI);
@@ -69,21 +70,21 @@ public class TWIGModelWrapper {
   public static final String TWEET_CONTENT_PROPERTY_NAME = "tweetContent";
 
   // RDF statement parts.
-  private static final Resource TWEET =
+  static final Resource TWEET =
       ResourceFactory.createResource(PREFIX_MAPPING.expandPrefix("twig:Tweet"));
-  private static final Resource ONLINE_TWITTER_ACCOUNT =
+  static final Resource ONLINE_TWITTER_ACCOUNT =
       ResourceFactory.createResource(PREFIX_MAPPING.expandPrefix("twig:OnlineTwitterAccount"));
-  private static final Resource OWL_NAMED_INDIVIDUAL =
+  static final Resource OWL_NAMED_INDIVIDUAL =
       ResourceFactory.createResource(PREFIX_MAPPING.expandPrefix("owl:NamedIndividual"));
-  private static final Property SENDS = ResourceFactory
+  static final Property SENDS = ResourceFactory
       .createProperty(PREFIX_MAPPING.expandPrefix("twig:".concat(SENDS_PROPERTY_NAME)));
-  private static final Property MENTIONS = ResourceFactory
+  static final Property MENTIONS = ResourceFactory
       .createProperty(PREFIX_MAPPING.expandPrefix("twig:".concat(MENTIONS_PROPERTY_NAME)));
-  private static final Property TWEET_TIME = ResourceFactory
+  static final Property TWEET_TIME = ResourceFactory
       .createProperty(PREFIX_MAPPING.expandPrefix("twig:".concat(TWEET_TIME_PROPERTY_NAME)));
-  private static final Property TWEET_CONTENT = ResourceFactory
+  static final Property TWEET_CONTENT = ResourceFactory
       .createProperty(PREFIX_MAPPING.expandPrefix("twig:".concat(TWEET_CONTENT_PROPERTY_NAME)));
-  private static final Property RDF_TYPE =
+  static final Property RDF_TYPE =
       ResourceFactory.createProperty(PREFIX_MAPPING.expandPrefix("rdf:type"));
 
   private static byte[] randomHashSuffix = new byte[32];
@@ -159,6 +160,23 @@ public class TWIGModelWrapper {
     mentions.forEach(mention -> tweet.addProperty(MENTIONS, getTwitterAccount(mention)));
   }
 
+  /**
+   * Same as {@link #addTweetNoAnonymization(String, String, LocalDateTime, Collection, long)} but
+   * with the tweet time given in seconds since the epoch {@code 1970-01-01T00:00:00}.
+   *
+   * @param accountName See original documentation.
+   * @param tweetContent See original documentation.
+   * @param tweetTime Tweet time in epoch seconds.
+   * @param mentions See original documentation.
+   * @param seed See original documentation.
+   */
+  @Override
+  public void addTweetNoAnonymization(final String accountName, final String tweetContent,
+      final long tweetTime, final Collection<String> mentions, final long seed) {
+    addTweetNoAnonymization(accountName, tweetContent,
+        LocalDateTime.ofEpochSecond(tweetTime, 0, ZoneOffset.UTC), mentions, seed);
+  }
+
   /**
    * Gets/creates a resource to a twitter account.
    *
@@ -195,7 +213,7 @@ public class TWIGModelWrapper {
    * @param twitterAccountName Name of the account.
    * @return IRI of the twitter account.
    */
-  private String createTwitterAccountIri(final String twitterAccountName) {
+  static String createTwitterAccountIri(final String twitterAccountName) {
     return prefixedIri(twitterAccountName);
   }
 
@@ -206,7 +224,7 @@ public class TWIGModelWrapper {
    * @param messageTime Date and time of the tweet.
    * @return IRI of the tweet.
    */
-  private String createTweetIri(final String twitterAccountName, final LocalDateTime messageTime,
+  static String createTweetIri(final String twitterAccountName, final LocalDateTime messageTime,
       final long seed) {
     final String returnValue = twitterAccountName//
         .concat("_").concat(messageTime.toString().replaceAll(":", "-"))//
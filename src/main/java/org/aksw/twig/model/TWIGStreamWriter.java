@@ -0,0 +1,142 @@
+package org.aksw.twig.model;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
+
+/**
+ * Writes tweets with the same statements as {@link TWIGModelWrapper} but directly into an output
+ * stream as they are added. Nothing but the name of the last tweeting account is held in memory,
+ * so the amount of written tweets is not limited by the heap size.<br>
+ * <br>
+ * Other than in a model, statements are not deduplicated: The statements typing a tweeting account
+ * are written whenever the account differs from the one of the previous tweet, those typing a
+ * mentioned account with each mention. Writing all tweets of an account one after another, as the
+ * {@link org.aksw.twig.automaton.Automaton} does, types each tweeting account once.
+ */
+public class TWIGStreamWriter implements TweetWriter, Closeable {
+
+  private static final String GZIP_ENDING = ".gz";
+
+  private static final String N_TRIPLES_ENDING = ".nt";
+
+  private final OutputStream out;
+
+  private final StreamRDF stream;
+
+  private String lastAccountName;
+
+  /**
+   * Creates a new instance writing into given stream. The stream is closed by {@link #close()}.
+   *
+   * @param out Stream to write into.
+   * @param format Format to write, must be a streaming format like {@link RDFFormat#TURTLE_BLOCKS}
+   *        or {@link RDFFormat#NTRIPLES}.
+   * @throws IllegalArgumentException Thrown if the format does not support streaming.
+   */
+  public TWIGStreamWriter(final OutputStream out, final RDFFormat format)
+      throws IllegalArgumentException {
+    if (!StreamRDFWriter.registered(format)) {
+      throw new IllegalArgumentException("No streaming format: " + format);
+    }
+
+    this.out = out;
+    stream = StreamRDFWriter.getWriterStream(out, format);
+    stream.start();
+    for (final Map.Entry<String, String> prefix : TWIGModelWrapper.PREFIX_MAPPING.getNsPrefixMap()
+        .entrySet()) {
+      stream.prefix(prefix.getKey(), prefix.getValue());
+    }
+  }
+
+  /**
+   * Creates a new instance writing into given file. Files ending with {@code .gz} are compressed
+   * by gzip. Files ending with {@code .nt} or {@code .nt.gz} are written as N-Triples, all others
+   * as Turtle.
+   *
+   * @param file File to write into.
+   * @return Stream writer.
+   * @throws IOException Thrown if the file cannot be opened.
+   */
+  public static TWIGStreamWriter open(final File file) throws IOException {
+    String name = file.getName();
+    OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+    if (name.endsWith(GZIP_ENDING)) {
+      out = new GZIPOutputStream(out, 1 << 16);
+      name = name.substring(0, name.length() - GZIP_ENDING.length());
+    }
+
+    return new TWIGStreamWriter(out,
+        name.endsWith(N_TRIPLES_ENDING) ? RDFFormat.NTRIPLES : RDFFormat.TURTLE_BLOCKS);
+  }
+
+  @Override
+  public void addTweetNoAnonymization(final String accountName, final String tweetContent,
+      final long tweetTime, final Collection<String> mentions, final long seed) {
+    final Node account = twitterAccount(accountName);
+    if (!accountName.equals(lastAccountName)) {
+      lastAccountName = accountName;
+      addTwitterAccount(account);
+    }
+
+    final LocalDateTime time = LocalDateTime.ofEpochSecond(tweetTime, 0, ZoneOffset.UTC);
+    final Node tweet =
+        NodeFactory.createURI(TWIGModelWrapper.createTweetIri(accountName, time, seed));
+    add(tweet, TWIGModelWrapper.RDF_TYPE.asNode(),
+        TWIGModelWrapper.OWL_NAMED_INDIVIDUAL.asNode());
+    add(tweet, TWIGModelWrapper.RDF_TYPE.asNode(), TWIGModelWrapper.TWEET.asNode());
+    add(tweet, TWIGModelWrapper.TWEET_CONTENT.asNode(),
+        NodeFactory.createLiteral(tweetContent, XSDDatatype.XSDstring));
+    add(tweet, TWIGModelWrapper.TWEET_TIME.asNode(), NodeFactory.createLiteral(
+        time.format(TWIGModelWrapper.DATE_TIME_FORMATTER), XSDDatatype.XSDdateTime));
+    add(account, TWIGModelWrapper.SENDS.asNode(), tweet);
+
+    for (final String mention : mentions) {
+      final Node mentioned = twitterAccount(mention);
+      addTwitterAccount(mentioned);
+      add(tweet, TWIGModelWrapper.MENTIONS.asNode(), mentioned);
+    }
+  }
+
+  private static Node twitterAccount(final String accountName) {
+    return NodeFactory.createURI(TWIGModelWrapper.createTwitterAccountIri(accountName));
+  }
+
+  private void addTwitterAccount(final Node account) {
+    add(account, TWIGModelWrapper.RDF_TYPE.asNode(),
+        TWIGModelWrapper.OWL_NAMED_INDIVIDUAL.asNode());
+    add(account, TWIGModelWrapper.RDF_TYPE.asNode(),
+        TWIGModelWrapper.ONLINE_TWITTER_ACCOUNT.asNode());
+  }
+
+  private void add(final Node subject, final Node predicate, final Node object) {
+    stream.triple(Triple.create(subject, predicate, object));
+  }
+
+  /**
+   * Finishes the written document and closes the underlying stream.
+   *
+   * @throws IOException Thrown if the stream cannot be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    stream.finish();
+    out.close();
+  }
+}
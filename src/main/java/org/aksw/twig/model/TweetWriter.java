@@ -0,0 +1,22 @@
+package org.aksw.twig.model;
+
+import java.util.Collection;
+
+/**
+ * Receives generated tweets. Implemented by {@link TWIGModelWrapper} which collects tweets in a
+ * model and by {@link TWIGStreamWriter} which writes tweets as they are added.
+ */
+public interface TweetWriter {
+
+  /**
+   * Adds a tweet of an already anonymized account.
+   *
+   * @param accountName Name of the tweeting account.
+   * @param tweetContent Content of the tweet.
+   * @param tweetTime Tweet time in seconds since the epoch {@code 1970-01-01T00:00:00}.
+   * @param mentions All mentioned account names of the tweet.
+   * @param seed Seed that is part of the tweet's IRI.
+   */
+  void addTweetNoAnonymization(String accountName, String tweetContent, long tweetTime,
+      Collection<String> mentions, long seed);
+}
@@ -0,0 +1,139 @@
+package org.aksw.twig.replay;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.aksw.twig.automaton.Tweet;
+import org.aksw.twig.model.TWIGModelWrapper;
+import org.json.JSONObject;
+
+/**
+ * Writes each tweet as one JSON object per line, e. g.<br>
+ * {@code {"account":"0000000000000000000000000000001c","content":"a b","time":1262349000,
+ * "dateTime":"2010-01-01T12:30:00"}}<br>
+ * with {@code time} in seconds since the epoch {@code 1970-01-01T00:00:00} and {@code dateTime}
+ * formatted by {@link TWIGModelWrapper#DATE_TIME_FORMATTER}.
+ */
+public class JsonLineTweetSink implements TweetSink {
+
+  /**
+   * Target of {@link #of(String)} stating standard out.
+   */
+  public static final String STANDARD_OUT = "-";
+
+  private final Writer writer;
+
+  private final Closeable resource;
+
+  /**
+   * Creates a new instance writing into given stream. The stream is closed by {@link #close()}.
+   *
+   * @param out Stream to write into.
+   */
+  public JsonLineTweetSink(final OutputStream out) {
+    this(out, out);
+  }
+
+  private JsonLineTweetSink(final OutputStream out, final Closeable resource) {
+    writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    this.resource = resource;
+  }
+
+  /**
+   * Creates a new instance writing to {@link System#out}, which is flushed but not closed by
+   * {@link #close()}. Note that the default logging configuration logs to standard out as well
+   * unless moved to standard error as {@link TweetReplayer#main(String[])} does.
+   *
+   * @return Sink.
+   */
+  public static JsonLineTweetSink toStandardOut() {
+    return new JsonLineTweetSink(System.out, () -> {
+      // standard out stays open
+    });
+  }
+
+  /**
+   * Creates a new instance writing into given file. The file may be a named pipe.
+   *
+   * @param file File to write into.
+   * @return Sink.
+   * @throws IOException Thrown if the file cannot be opened.
+   */
+  public static JsonLineTweetSink toFile(final File file) throws IOException {
+    return new JsonLineTweetSink(new FileOutputStream(file));
+  }
+
+  /**
+   * Creates a new instance writing to a TCP socket connected to given port of the loopback
+   * address.
+   *
+   * @param port Port to connect to.
+   * @return Sink.
+   * @throws IOException Thrown if the socket cannot be connected.
+   */
+  public static JsonLineTweetSink toLocalSocket(final int port) throws IOException {
+    final Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+    return new JsonLineTweetSink(socket.getOutputStream(), socket);
+  }
+
+  /**
+   * Creates a new instance by a target as stated in {@link TweetReplayer#main(String[])}:
+   * {@code -} for standard out, {@code tcp:PORT} for a local TCP socket and a path of a file or
+   * named pipe otherwise.
+   *
+   * @param target Target to write to.
+   * @return Sink.
+   * @throws IOException Thrown if the target cannot be opened.
+   */
+  public static JsonLineTweetSink of(final String target) throws IOException {
+    if (STANDARD_OUT.equals(target)) {
+      return toStandardOut();
+    }
+    if (target.startsWith("tcp:")) {
+      return toLocalSocket(Integer.parseInt(target.substring(4)));
+    }
+    return toFile(new File(target));
+  }
+
+  @Override
+  public void emit(final Tweet tweet) throws IOException {
+    final JSONObject object = new JSONObject();
+    object.put("account", tweet.getAccountName());
+    object.put("content", tweet.getContent());
+    object.put("time", tweet.getTime());
+    object.put("dateTime", LocalDateTime.ofEpochSecond(tweet.getTime(), 0, ZoneOffset.UTC)
+        .format(TWIGModelWrapper.DATE_TIME_FORMATTER));
+    writer.write(object.toString());
+    writer.write('\n');
+  }
+
+  @Override
+  public void flush() throws IOException {
+    writer.flush();
+  }
+
+  /**
+   * Flushes the sink and closes the underlying stream.
+   *
+   * @throws IOException Thrown if the stream cannot be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      writer.flush();
+    } finally {
+      resource.close();
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package org.aksw.twig.replay;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Progress of a replay by a {@link TweetReplayer}.
+ */
+public class ReplayStatistics {
+
+  private final long tweetCount;
+
+  private final long elapsedNanos;
+
+  private final long lagNanos;
+
+  private final long maxLagNanos;
+
+  /**
+   * Creates a new instance setting class variables.
+   *
+   * @param tweetCount Number of emitted tweets.
+   * @param elapsedNanos Nanoseconds since the replay started.
+   * @param lagNanos Nanoseconds the last tweet has been emitted after its scheduled time.
+   * @param maxLagNanos Maximum of {@code lagNanos} of all emitted tweets.
+   */
+  public ReplayStatistics(final long tweetCount, final long elapsedNanos, final long lagNanos,
+      final long maxLagNanos) {
+    this.tweetCount = tweetCount;
+    this.elapsedNanos = elapsedNanos;
+    this.lagNanos = lagNanos;
+    this.maxLagNanos = maxLagNanos;
+  }
+
+  /**
+   * Returns the number of emitted tweets.
+   *
+   * @return Number of tweets.
+   */
+  public long getTweetCount() {
+    return tweetCount;
+  }
+
+  /**
+   * Returns the nanoseconds since the replay started.
+   *
+   * @return Elapsed nanoseconds.
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Returns how many nanoseconds the last tweet has been emitted after its scheduled time.
+   *
+   * @return Lag in nanoseconds.
+   */
+  public long getLagNanos() {
+    return lagNanos;
+  }
+
+  /**
+   * Returns the maximum lag of all emitted tweets, see {@link #getLagNanos()}.
+   *
+   * @return Maximum lag in nanoseconds.
+   */
+  public long getMaxLagNanos() {
+    return maxLagNanos;
+  }
+
+  /**
+   * Returns the achieved throughput.
+   *
+   * @return Tweets per second or {@code 0} if no time has elapsed.
+   */
+  public double getThroughput() {
+    return elapsedNanos == 0 ? 0 : (tweetCount * 1e9) / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d tweets in %d ms, %.1f tweets/s, %d ms behind schedule (max %d ms)",
+        tweetCount, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), getThroughput(),
+        TimeUnit.NANOSECONDS.toMillis(lagNanos), TimeUnit.NANOSECONDS.toMillis(maxLagNanos));
+  }
+}
@@ -0,0 +1,336 @@
+package org.aksw.twig.replay;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.aksw.twig.automaton.Automaton;
+import org.aksw.twig.automaton.Tweet;
+import org.aksw.twig.model.TWIGModelWrapper;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+
+/**
+ * Emits tweets in order of time to a {@link TweetSink}, each tweet at its scheduled time. Tweets
+ * are either scheduled by their own time, accelerated by a constant factor, or at a fixed rate
+ * ignoring their times. Tweets can be generated by
+ * {@link Automaton#timeOrderedIterator(int, Duration, LocalDate, long)} or read from a
+ * TWIG model by {@link #readTweets(Model)}.<br>
+ * <br>
+ * The sink is flushed whenever the replayer waits for the next scheduled time, so tweets are
+ * delivered on time without flushing each tweet at high rates. If the sink cannot keep up, tweets
+ * are emitted as fast as possible and the lag behind the schedule grows. Progress is logged every
+ * {@link #getReportInterval()}.
+ */
+public class TweetReplayer {
+
+  private static final Logger LOGGER = LogManager.getLogger(TweetReplayer.class);
+
+  private static final double NANOS_PER_SECOND = 1e9;
+
+  /**
+   * System property read by {@code log4j2.xml} stating the target of the console appender.
+   */
+  static final String LOG_TARGET_PROPERTY = "twig.log.target";
+
+  /**
+   * Default interval to log the progress of a replay in.
+   */
+  public static final Duration DEFAULT_REPORT_INTERVAL = Duration.ofSeconds(10);
+
+  /**
+   * First argument of {@link #main(String[])} to replay tweets generated by an {@link Automaton}.
+   */
+  public static final String AUTOMATON_SOURCE = "automaton";
+
+  /**
+   * Simulated seconds per second or {@link Double#NaN} if replaying at a fixed rate.
+   */
+  private final double speedup;
+
+  /**
+   * Tweets per second or {@link Double#NaN} if replaying by tweet times.
+   */
+  private final double rate;
+
+  private Duration reportInterval = DEFAULT_REPORT_INTERVAL;
+
+  private TweetReplayer(final double speedup, final double rate) {
+    this.speedup = speedup;
+    this.rate = rate;
+  }
+
+  /**
+   * Creates a replayer emitting tweets at their times accelerated by given factor, i. e. two tweets
+   * are emitted {@code (t2 - t1) / speedup} seconds apart. Factor {@code 1} replays in real time,
+   * {@link Double#POSITIVE_INFINITY} as fast as possible.
+   *
+   * @param speedup Simulated seconds per second.
+   * @return Replayer.
+   * @throws IllegalArgumentException Thrown if {@code speedup} is not positive.
+   */
+  public static TweetReplayer accelerated(final double speedup) throws IllegalArgumentException {
+    if (!(speedup > 0)) {
+      throw new IllegalArgumentException("speedup must be positive");
+    }
+    return new TweetReplayer(speedup, Double.NaN);
+  }
+
+  /**
+   * Creates a replayer emitting tweets at a fixed rate in order but regardless of their times.
+   *
+   * @param tweetsPerSecond Target rate.
+   * @return Replayer.
+   * @throws IllegalArgumentException Thrown if {@code tweetsPerSecond} is not positive.
+   */
+  public static TweetReplayer fixedRate(final double tweetsPerSecond)
+      throws IllegalArgumentException {
+    if (!(tweetsPerSecond > 0)) {
+      throw new IllegalArgumentException("tweetsPerSecond must be positive");
+    }
+    return new TweetReplayer(Double.NaN, tweetsPerSecond);
+  }
+
+  /**
+   * Returns the interval the progress of a replay is logged in.
+   *
+   * @return Report interval.
+   */
+  public Duration getReportInterval() {
+    return reportInterval;
+  }
+
+  /**
+   * Sets the interval the progress of a replay is logged in.
+   *
+   * @param reportInterval Report interval.
+   */
+  public void setReportInterval(final Duration reportInterval) {
+    this.reportInterval = reportInterval;
+  }
+
+  /**
+   * Returns the nanoseconds after the start of the replay a tweet is scheduled at.
+   */
+  private long scheduledOffset(final long index, final long secondsSinceFirst) {
+    if (Double.isNaN(speedup)) {
+      return (long) ((index * NANOS_PER_SECOND) / rate);
+    }
+    // tweets out of order are emitted immediately
+    return (long) ((Math.max(0, secondsSinceFirst) * NANOS_PER_SECOND) / speedup);
+  }
+
+  /**
+   * Emits all tweets to given sink at their scheduled times. The first tweet is scheduled at the
+   * start of the replay. The sink is flushed but not closed.
+   *
+   * @param tweets Tweets in ascending order of time.
+   * @param sink Sink to emit to.
+   * @return Statistics of the whole replay.
+   * @throws IOException Thrown if the sink throws.
+   * @throws InterruptedException Thrown if interrupted while waiting.
+   */
+  public ReplayStatistics replay(final Iterator<Tweet> tweets, final TweetSink sink)
+      throws IOException, InterruptedException {
+    final long start = System.nanoTime();
+    final long reportNanos = reportInterval.toNanos();
+    long nextReport = start + reportNanos;
+    long firstTime = 0;
+    long count = 0;
+    long lag = 0;
+    long maxLag = 0;
+
+    while (tweets.hasNext()) {
+      final Tweet tweet = tweets.next();
+      if (count == 0) {
+        firstTime = tweet.getTime();
+      }
+
+      final long scheduled = start + scheduledOffset(count, tweet.getTime() - firstTime);
+      long now = System.nanoTime();
+      if (scheduled > now) {
+        sink.flush();
+        // sleeping may end up to a millisecond early
+        do {
+          TimeUnit.NANOSECONDS.sleep(scheduled - now);
+          now = System.nanoTime();
+        } while (scheduled > now);
+      }
+
+      sink.emit(tweet);
+      count++;
+      lag = Math.max(0, now - scheduled);
+      maxLag = Math.max(maxLag, lag);
+
+      if (now >= nextReport) {
+        LOGGER.info("Replayed {}", new ReplayStatistics(count, now - start, lag, maxLag));
+        nextReport = now + reportNanos;
+      }
+    }
+    sink.flush();
+
+    final ReplayStatistics statistics =
+        new ReplayStatistics(count, System.nanoTime() - start, lag, maxLag);
+    LOGGER.info("Finished replay: {}", statistics);
+    return statistics;
+  }
+
+  /**
+   * Reads all tweets of a TWIG model, as written by {@link TWIGModelWrapper}, and orders them by
+   * time.
+   *
+   * @param model Model to read.
+   * @return Tweets in ascending order of time.
+   */
+  public static List<Tweet> readTweets(final Model model) {
+    final Map<Resource, String> senders = new HashMap<>();
+    final Map<Resource, String> contents = new HashMap<>();
+    final Map<Resource, Long> times = new HashMap<>();
+
+    model.listStatements().forEachRemaining(statement -> {
+      final String predicate = statement.getPredicate().getLocalName();
+      if (predicate.equals(TWIGModelWrapper.SENDS_PROPERTY_NAME)) {
+        final String account = statement.getSubject().getURI();
+        senders.put(statement.getObject().asResource(),
+            account.substring(account.lastIndexOf('#') + 1));
+      } else if (predicate.equals(TWIGModelWrapper.TWEET_CONTENT_PROPERTY_NAME)) {
+        contents.put(statement.getSubject(), statement.getObject().asLiteral().getString());
+      } else if (predicate.equals(TWIGModelWrapper.TWEET_TIME_PROPERTY_NAME)) {
+        final LocalDateTime time = LocalDateTime.from(TWIGModelWrapper.DATE_TIME_FORMATTER
+            .parse(statement.getObject().asLiteral().getLexicalForm()));
+        times.put(statement.getSubject(), time.toEpochSecond(ZoneOffset.UTC));
+      }
+    });
+
+    final List<Tweet> tweets = new ArrayList<>(times.size());
+    times.forEach((tweet, time) -> tweets.add(
+        new Tweet(senders.getOrDefault(tweet, ""), contents.getOrDefault(tweet, ""), time)));
+    tweets.sort(Comparator.comparingLong(Tweet::getTime));
+    return tweets;
+  }
+
+  /**
+   * Moves the console log to standard error, so progress reports do not interleave with tweets
+   * written to standard out.
+   */
+  static void logToStandardError() {
+    System.setProperty(LOG_TARGET_PROPERTY, "SYSTEM_ERR");
+    ((LoggerContext) LogManager.getContext(false)).reconfigure();
+  }
+
+  /**
+   * Replays the tweets of a TWIG model with following arguments:
+   * <ul>
+   * <li>{@code arg[0]} must state a path to a TWIG model, e. g. written by {@link Automaton} or
+   * {@link org.aksw.twig.parsing.Twitter7Parser}</li>
+   * <li>{@code arg[1]} must state the sink: {@code -} for standard out, {@code tcp:PORT} for a TCP
+   * socket connected to {@code PORT} of localhost or a path of a file or named pipe. Replaying to
+   * standard out moves the log to standard error.</li>
+   * <li>{@code arg[2]} must state {@code speedup} to replay by tweet times or {@code rate} to
+   * replay at a fixed rate</li>
+   * <li>{@code arg[3]} must state a decimal value for the speedup factor or the tweets per
+   * second</li>
+   * </ul>
+   * The whole model is read into memory before the replay starts. To replay tweets while they are
+   * generated instead, {@code arg[0]} must state {@link #AUTOMATON_SOURCE} followed by the
+   * arguments of {@link Automaton#main(String[])} up to the seed, i. e. a model snapshot or the
+   * serialized models, {@code userCount}, {@code simulationTime} in days, {@code startDate} and
+   * {@code seed}. The sink and replay mode follow as stated above. Tweets are then taken from
+   * {@link Automaton#timeOrderedIterator(int, Duration, LocalDate, long)} one after another.
+   *
+   * @param args Arguments as stated above.
+   */
+  public static void main(final String[] args) {
+    if (args.length < 4) {
+      throw new IllegalArgumentException("Insufficient arguments supplied");
+    }
+
+    final int sourceArguments;
+    if (AUTOMATON_SOURCE.equals(args[0])) {
+      final String[] automatonArgs = Arrays.copyOfRange(args, 1, args.length);
+      sourceArguments = 1 + Automaton.getModelArgumentCount(automatonArgs) + 4;
+      if (args.length < (sourceArguments + 3)) {
+        throw new IllegalArgumentException("Insufficient arguments supplied");
+      }
+    } else {
+      sourceArguments = 1;
+    }
+
+    final double value = Double.parseDouble(args[sourceArguments + 2]);
+    final TweetReplayer replayer;
+    switch (args[sourceArguments + 1]) {
+      case "speedup":
+        replayer = accelerated(value);
+        break;
+      case "rate":
+        replayer = fixedRate(value);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown replay mode " + args[sourceArguments + 1]);
+    }
+
+    final String sinkName = args[sourceArguments];
+    if (JsonLineTweetSink.STANDARD_OUT.equals(sinkName)) {
+      logToStandardError();
+    }
+
+    final Iterator<Tweet> tweets;
+    try {
+      tweets = AUTOMATON_SOURCE.equals(args[0])
+          ? generateTweets(Arrays.copyOfRange(args, 1, sourceArguments))
+          : readTweets(args[0]);
+    } catch (IOException | ClassNotFoundException e) {
+      LOGGER.error(e.getMessage(), e);
+      return;
+    }
+
+    try (TweetSink sink = JsonLineTweetSink.of(sinkName)) {
+      replayer.replay(tweets, sink);
+    } catch (final IOException e) {
+      LOGGER.error(e.getMessage(), e);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Reads all tweets of the TWIG model in given file.
+   */
+  private static Iterator<Tweet> readTweets(final String file) throws IOException {
+    LOGGER.info("loads TWIG model");
+    return readTweets(TWIGModelWrapper.read(new File(file)).getModel()).iterator();
+  }
+
+  /**
+   * Loads an automaton by {@link Automaton#load(String[], File)} and returns its tweets in order
+   * of time. The arguments following the model files state user count, days, start date and seed.
+   */
+  private static Iterator<Tweet> generateTweets(final String[] args)
+      throws IOException, ClassNotFoundException {
+    final int modelArguments = Automaton.getModelArgumentCount(args);
+    final int userCount = Integer.parseInt(args[modelArguments]);
+    final int days = Integer.parseInt(args[modelArguments + 1]);
+    final LocalDate startDate =
+        LocalDate.from(DateTimeFormatter.ISO_LOCAL_DATE.parse(args[modelArguments + 2]));
+    final long seed = Long.parseLong(args[modelArguments + 3]);
+
+    // the iterator writes no files, so any directory will do
+    final Automaton automaton = Automaton.load(args, new File(".").getAbsoluteFile());
+    return automaton.timeOrderedIterator(userCount, Duration.ofDays(days), startDate, seed);
+  }
+}
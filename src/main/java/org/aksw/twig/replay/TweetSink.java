@@ -0,0 +1,27 @@
+package org.aksw.twig.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.aksw.twig.automaton.Tweet;
+
+/**
+ * Receives the tweets replayed by a {@link TweetReplayer}.
+ */
+public interface TweetSink extends Closeable {
+
+  /**
+   * Emits a tweet. The tweet may be buffered until {@link #flush()} is called.
+   *
+   * @param tweet Tweet to emit.
+   * @throws IOException Thrown if the tweet cannot be emitted.
+   */
+  void emit(Tweet tweet) throws IOException;
+
+  /**
+   * Delivers all buffered tweets.
+   *
+   * @throws IOException Thrown if the tweets cannot be delivered.
+   */
+  void flush() throws IOException;
+}
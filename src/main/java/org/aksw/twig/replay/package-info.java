@@ -0,0 +1,6 @@
+/**
+ * Classes of this package replay tweets in order of time at a controlled rate to a
+ * {@link org.aksw.twig.replay.TweetSink}, e. g. to load-test stream processing systems. Executable
+ * class is {@link org.aksw.twig.replay.TweetReplayer}.
+ */
+package org.aksw.twig.replay;
@@ -18,11 +18,11 @@ import org.apache.commons.math3.exception.NumberIsTooLargeException;
  * this distribution run in {@code O(1)}.
  */
 public class ExponentialLikeDistribution
-    implements SamplingDiscreteDistribution<Integer>, Serializable {
+    implements SamplingDiscreteIntDistribution, Serializable {
 
   private static final long serialVersionUID = -2178614327372507943L;
 
-  private final Random r = new Random();
+  private final Random r = new Xoroshiro128PlusRandom();
 
   private final double multiplier;
 
@@ -43,6 +43,15 @@ public class ExponentialLikeDistribution
     multiplier = (1d - expLambda);
   }
 
+  /**
+   * Returns the characteristic variable of the distribution.
+   *
+   * @return Lambda.
+   */
+  public double getLambda() {
+    return lambda;
+  }
+
   /**
    * Returns the probability {@code P(X = x)}.
    *
@@ -93,25 +102,23 @@ public class ExponentialLikeDistribution
     return sample(r);
   }
 
+  /**
+   * Samples by inversion of the cumulative probability function: For a uniformly distributed
+   * {@code u} in {@code [0, 1)} the smallest {@code x} with {@code P(X <= x) > u} is
+   * {@code floor(ln(1 - u) / lambda)}. Values are capped at {@code Integer.MAX_VALUE - 1}.
+   *
+   * @param randomSource Source of randomness.
+   * @return Sampled value.
+   */
+  @Override
+  public int sampleInt(final Random randomSource) {
+    final double x = Math.floor(Math.log1p(-randomSource.nextDouble()) / lambda);
+    return x >= (Integer.MAX_VALUE - 1) ? Integer.MAX_VALUE - 1 : (int) x;
+  }
+
   @Override
   public Integer sample(final Random randomSource) {
-    int lowerK = 0;
-    int upperK = Integer.MAX_VALUE - 1;
-    int pivot = upperK / 2;
-
-    while (true) {
-      if (randomSource.nextDouble() < (cumulativeProbability(lowerK - 1, pivot)
-          / cumulativeProbability(lowerK - 1, upperK))) {
-        upperK = pivot;
-      } else {
-        lowerK = pivot + 1;
-      }
-      pivot = lowerK + ((upperK - lowerK) / 2);
-
-      if (lowerK >= upperK) {
-        return upperK;
-      }
-    }
+    return sampleInt(randomSource);
   }
 
   /**
@@ -0,0 +1,53 @@
+package org.aksw.twig.statistics;
+
+import java.util.List;
+
+/**
+ * Discrete distribution whose sample space is built by adding events one after another. Each event
+ * is added with its chance, the chances of all events should sum up to {@code 1}.
+ *
+ * @param <T> Type of events to sample.
+ */
+public interface MutableSamplingDiscreteDistribution<T> extends SamplingDiscreteDistribution<T> {
+
+  /**
+   * Adds a discrete event with its chance to the sample space.
+   *
+   * @param event Event to add to the sample space.
+   * @param chance Chance of the event.
+   * @throws IllegalArgumentException Thrown if the chance is invalid.
+   * @throws IllegalStateException Thrown if no more events can be added.
+   */
+  void addDiscreteEvent(T event, double chance)
+      throws IllegalArgumentException, IllegalStateException;
+
+  /**
+   * Adds discrete events with their chances to the sample space. Same as calling
+   * {@link #addDiscreteEvent(Object, double)} for each event in order, but implementations may
+   * build their sample space faster.
+   *
+   * @param events Events to add to the sample space.
+   * @param chances Chance of each event.
+   * @throws IllegalArgumentException Thrown if a chance is invalid or the number of chances differs
+   *         from the number of events.
+   * @throws IllegalStateException Thrown if no more events can be added.
+   */
+  default void addDiscreteEvents(final List<? extends T> events, final double[] chances)
+      throws IllegalArgumentException, IllegalStateException {
+    if (events.size() != chances.length) {
+      throw new IllegalArgumentException("Number of events and chances differ.");
+    }
+
+    for (int i = 0; i < chances.length; i++) {
+      addDiscreteEvent(events.get(i), chances[i]);
+    }
+  }
+
+  /**
+   * Declares the sample space as complete. Afterwards no more events can be added and
+   * implementations may prepare for concurrent sampling, e. g. by freezing their sample space.
+   * Does nothing by default.
+   */
+  default void seal() {
+  }
+}
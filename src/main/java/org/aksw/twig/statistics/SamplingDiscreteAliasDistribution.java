@@ -0,0 +1,208 @@
+package org.aksw.twig.statistics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Samples discrete events by Vose's alias method. Sampling is in {@code O(1)} and needs only one
+ * random number. The alias table is built in {@code O(n)} on the first sample after an event has
+ * been added, with {@code n} being the size of the sample space.<br>
+ * <br>
+ * Events are sampled with the same chances as by a {@link SamplingDiscreteTreeDistribution} with
+ * the same {@link #aggregatedChanceDelta}, i. e. if the aggregated chance of all events differs
+ * from one the chance of the last added event will be adjusted.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Alias_method">Alias method on Wikipedia</a>
+ * @param <T> Type of the events to sample.
+ */
+public class SamplingDiscreteAliasDistribution<T> implements MutableSamplingDiscreteDistribution<T> {
+
+  private final Random random = new Xoroshiro128PlusRandom();
+
+  /**
+   * Clearance for the aggregated chance of all events. Same as
+   * {@link SamplingDiscreteTreeDistribution#aggregatedChanceDelta}.
+   */
+  public final double aggregatedChanceDelta;
+
+  private final List<T> events = new ArrayList<>();
+
+  /**
+   * Aggregated chance of each event and all events that have been added prior to it.
+   */
+  private double[] aggregatedChances = new double[16];
+
+  private double aggregatedChance;
+
+  private volatile AliasTable table;
+
+  private boolean sealed;
+
+  /**
+   * Creates a new instance with {@link #aggregatedChanceDelta} set to {@code 0.0}.
+   */
+  public SamplingDiscreteAliasDistribution() {
+    this(0.0);
+  }
+
+  /**
+   * Creates a new instance setting class variables.
+   *
+   * @param aggregatedChanceDelta Clearance for the maximum aggregated chance.
+   */
+  public SamplingDiscreteAliasDistribution(final double aggregatedChanceDelta) {
+    this.aggregatedChanceDelta = aggregatedChanceDelta;
+  }
+
+  /**
+   * Adds a discrete event with its chance to the sample space.
+   *
+   * @param event Event to add to the sample space.
+   * @param chance Chance of the event.
+   * @throws IllegalArgumentException Thrown if the aggregated chance of all events is truly greater
+   *         than {@code 1 + }{@link #aggregatedChanceDelta} of if {@code chance} is not positive.
+   * @throws IllegalStateException Thrown if the aggregated chance of all events was {@code >= 1} or
+   *         if the distribution has been sealed.
+   */
+  @Override
+  public synchronized void addDiscreteEvent(final T event, final double chance)
+      throws IllegalArgumentException, IllegalStateException {
+    if (sealed) {
+      throw new IllegalStateException("Distribution has been sealed.");
+    }
+
+    if (aggregatedChance >= 1) {
+      throw new IllegalStateException(
+          "Aggregated chance was >= 1 - would lead into impossible event");
+    }
+
+    if (chance <= 0) {
+      throw new IllegalArgumentException("Chance must be positive");
+    }
+
+    if ((aggregatedChance + chance) > (1 + aggregatedChanceDelta)) {
+      throw new IllegalArgumentException("Aggregated chance was greater than (1 + delta) was "
+          .concat(Double.toString(aggregatedChance + chance)));
+    }
+
+    aggregatedChance += chance;
+    if (events.size() == aggregatedChances.length) {
+      aggregatedChances = Arrays.copyOf(aggregatedChances, aggregatedChances.length << 1);
+    }
+    aggregatedChances[events.size()] = aggregatedChance;
+    events.add(event);
+    table = null;
+  }
+
+  /**
+   * Builds the alias table right away so that the first sample does not need to lock.
+   */
+  @Override
+  public synchronized void seal() {
+    sealed = true;
+    buildTable();
+  }
+
+  @Override
+  public void reseedRandomGenerator(final long seed) {
+    random.setSeed(seed);
+  }
+
+  @Override
+  public T sample() {
+    return sample(random);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T sample(final Random r) {
+    AliasTable current = table;
+    if (current == null) {
+      current = buildTable();
+    }
+
+    final int n = current.events.length;
+    if (n == 0) {
+      return null;
+    }
+
+    final double value = r.nextDouble() * n;
+    final int column = Math.min((int) value, n - 1);
+    final int index = (value - column) < current.chances[column] ? column : current.aliases[column];
+    return (T) current.events[index];
+  }
+
+  private synchronized AliasTable buildTable() {
+    if (table != null) {
+      return table;
+    }
+
+    final int n = events.size();
+    final double[] scaled = new double[n];
+    double previous = 0;
+    for (int i = 0; i < n; i++) {
+      // the last event gets the remaining chance like in SamplingDiscreteTreeDistribution
+      final double aggregated = i == (n - 1) ? 1 : aggregatedChances[i];
+      scaled[i] = (aggregated - previous) * n;
+      previous = aggregated;
+    }
+
+    final AliasTable newTable = new AliasTable(events.toArray(), n);
+    final int[] small = new int[n];
+    final int[] large = new int[n];
+    int smallSize = 0;
+    int largeSize = 0;
+    for (int i = 0; i < n; i++) {
+      if (scaled[i] < 1) {
+        small[smallSize++] = i;
+      } else {
+        large[largeSize++] = i;
+      }
+    }
+
+    while ((smallSize > 0) && (largeSize > 0)) {
+      final int less = small[--smallSize];
+      final int more = large[--largeSize];
+      newTable.chances[less] = scaled[less];
+      newTable.aliases[less] = more;
+      scaled[more] = (scaled[more] + scaled[less]) - 1;
+      if (scaled[more] < 1) {
+        small[smallSize++] = more;
+      } else {
+        large[largeSize++] = more;
+      }
+    }
+
+    // remaining columns are full up to rounding errors
+    while (largeSize > 0) {
+      newTable.chances[large[--largeSize]] = 1;
+    }
+    while (smallSize > 0) {
+      newTable.chances[small[--smallSize]] = 1;
+    }
+
+    table = newTable;
+    return newTable;
+  }
+
+  /**
+   * Column {@code i} of the table samples event {@code i} with chance {@code chances[i]} and event
+   * {@code aliases[i]} otherwise.
+   */
+  private static class AliasTable {
+
+    final Object[] events;
+
+    final double[] chances;
+
+    final int[] aliases;
+
+    AliasTable(final Object[] events, final int size) {
+      this.events = events;
+      chances = new double[size];
+      aliases = new int[size];
+    }
+  }
+}
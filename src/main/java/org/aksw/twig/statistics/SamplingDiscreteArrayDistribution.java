@@ -0,0 +1,155 @@
+package org.aksw.twig.statistics;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Samples discrete events by searching an array of aggregated chances. Therefor sampling is in
+ * {@code O(log n)} with {@code n} being the size of the sample space, but other than
+ * {@link SamplingDiscreteTreeDistribution} an event only needs one slot in a {@code double[]} and
+ * one in an {@code Object[]}. The search does not branch on the compared values and only touches
+ * {@code log n} array slots.<br>
+ * <br>
+ * Events are sampled with the same chances as by a {@link SamplingDiscreteTreeDistribution} with
+ * the same {@link #aggregatedChanceDelta}. A built tree distribution can be converted by
+ * {@link SamplingDiscreteTreeDistribution#freeze()}.
+ *
+ * @param <T> Type of the events to sample.
+ */
+public class SamplingDiscreteArrayDistribution<T> implements MutableSamplingDiscreteDistribution<T> {
+
+  private final Random random = new Xoroshiro128PlusRandom();
+
+  /**
+   * Clearance for the aggregated chance of all events. Same as
+   * {@link SamplingDiscreteTreeDistribution#aggregatedChanceDelta}.
+   */
+  public final double aggregatedChanceDelta;
+
+  /**
+   * Aggregated chance of each event and all events that have been added prior to it.
+   */
+  private double[] aggregatedChances;
+
+  private Object[] events;
+
+  private int size;
+
+  /**
+   * Creates a new instance with {@link #aggregatedChanceDelta} set to {@code 0.0}.
+   */
+  public SamplingDiscreteArrayDistribution() {
+    this(0.0);
+  }
+
+  /**
+   * Creates a new instance setting class variables.
+   *
+   * @param aggregatedChanceDelta Clearance for the maximum aggregated chance.
+   */
+  public SamplingDiscreteArrayDistribution(final double aggregatedChanceDelta) {
+    this(aggregatedChanceDelta, new double[16], new Object[16], 0);
+  }
+
+  /**
+   * Creates a new instance holding given events.
+   *
+   * @param aggregatedChanceDelta Clearance for the maximum aggregated chance.
+   * @param aggregatedChances Ascending aggregated chances of the events.
+   * @param events Events.
+   * @param size Number of events in the arrays.
+   */
+  SamplingDiscreteArrayDistribution(final double aggregatedChanceDelta,
+      final double[] aggregatedChances, final Object[] events, final int size) {
+    this.aggregatedChanceDelta = aggregatedChanceDelta;
+    this.aggregatedChances = aggregatedChances;
+    this.events = events;
+    this.size = size;
+  }
+
+  /**
+   * Adds a discrete event with its chance to the sample space.
+   *
+   * @param event Event to add to the sample space.
+   * @param chance Chance of the event.
+   * @throws IllegalArgumentException Thrown if the aggregated chance of all events is truly greater
+   *         than {@code 1 + }{@link #aggregatedChanceDelta} of if {@code chance} is not positive.
+   * @throws IllegalStateException Thrown if the aggregated chance of all events was {@code >= 1}.
+   */
+  @Override
+  public void addDiscreteEvent(final T event, final double chance)
+      throws IllegalArgumentException, IllegalStateException {
+    final double aggregatedChance = size == 0 ? 0 : aggregatedChances[size - 1];
+    if (aggregatedChance >= 1) {
+      throw new IllegalStateException(
+          "Aggregated chance was >= 1 - would lead into impossible event");
+    }
+
+    if (chance <= 0) {
+      throw new IllegalArgumentException("Chance must be positive");
+    }
+
+    if ((aggregatedChance + chance) > (1 + aggregatedChanceDelta)) {
+      throw new IllegalArgumentException("Aggregated chance was greater than (1 + delta) was "
+          .concat(Double.toString(aggregatedChance + chance)));
+    }
+
+    if (size == events.length) {
+      aggregatedChances = Arrays.copyOf(aggregatedChances, size << 1);
+      events = Arrays.copyOf(events, size << 1);
+    }
+    aggregatedChances[size] = aggregatedChance + chance;
+    events[size] = event;
+    size++;
+  }
+
+  /**
+   * Returns the number of events in the sample space.
+   *
+   * @return Number of events.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Shrinks the internal arrays to the number of events.
+   */
+  public void trimToSize() {
+    aggregatedChances = Arrays.copyOf(aggregatedChances, size);
+    events = Arrays.copyOf(events, size);
+  }
+
+  @Override
+  public void reseedRandomGenerator(final long seed) {
+    random.setSeed(seed);
+  }
+
+  @Override
+  public T sample() {
+    return sample(random);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T sample(final Random r) {
+    if (size == 0) {
+      return null;
+    }
+
+    // first event with an aggregated chance greater than the random value or the last event
+    final double value = r.nextDouble();
+    int base = 0;
+    int length = size;
+    while (length > 1) {
+      final int half = length >>> 1;
+      base = aggregatedChances[base + half] <= value ? base + half : base;
+      length -= half;
+    }
+    if ((aggregatedChances[base] <= value) && (base < (size - 1))) {
+      base++;
+    }
+
+    return (T) events[base];
+  }
+}
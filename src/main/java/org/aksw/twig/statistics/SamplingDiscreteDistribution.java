@@ -5,6 +5,10 @@ import java.util.Random;
 /**
  * Samples events from a discrete sample space. A discrete sample space is a set of events that is
  * countable, i. e. its cardinality is lower or equal to the cardinality of the natural numbers.
+ * <br>
+ * Implementations use an internal {@link Xoroshiro128PlusRandom} for {@link #sample()} which is
+ * not synchronized. Threads sampling concurrently should use {@link #sample(Random)} with their
+ * own generators, e. g. created by {@link Xoroshiro128PlusRandom#split()}.
  * 
  * @param <T> Type of events to sample.
  */
@@ -33,4 +37,18 @@ public interface SamplingDiscreteDistribution<T> {
    * @return Sampled event or {@code null} if the sample space is empty.
    */
   T sample(Random r);
+
+  /**
+   * Samples {@code n} events from sample space whilst using {@code r} as source of randomness and
+   * stores them in {@code out[0]} to {@code out[n - 1]}.
+   * 
+   * @param n Number of events to sample.
+   * @param r Source of randomness.
+   * @param out Array to store the events in. Must have at least {@code n} elements.
+   */
+  default void sample(final int n, final Random r, final T[] out) {
+    for (int i = 0; i < n; i++) {
+      out[i] = sample(r);
+    }
+  }
 }
@@ -0,0 +1,71 @@
+package org.aksw.twig.statistics;
+
+/**
+ * Implementations of {@link MutableSamplingDiscreteDistribution} and of
+ * {@link SamplingDiscreteIntDistribution} of frequencies. All implementations sample the same
+ * distribution for the same events and chances.
+ */
+public enum SamplingDiscreteDistributionType {
+
+  /**
+   * {@link SamplingDiscreteTreeDistribution}: sampling in {@code O(log n)}.
+   */
+  TREE {
+    @Override
+    public <T> MutableSamplingDiscreteDistribution<T> create(final double aggregatedChanceDelta) {
+      return new SamplingDiscreteTreeDistribution<>(aggregatedChanceDelta);
+    }
+  },
+
+  /**
+   * {@link SamplingDiscreteArrayDistribution}: sampling in {@code O(log n)} with less memory than
+   * {@link #TREE}.
+   */
+  ARRAY {
+    @Override
+    public <T> MutableSamplingDiscreteDistribution<T> create(final double aggregatedChanceDelta) {
+      return new SamplingDiscreteArrayDistribution<>(aggregatedChanceDelta);
+    }
+  },
+
+  /**
+   * {@link SamplingDiscreteAliasDistribution} and {@link SamplingDiscreteIntAliasDistribution}:
+   * sampling in {@code O(1)}.
+   */
+  ALIAS {
+    @Override
+    public <T> MutableSamplingDiscreteDistribution<T> create(final double aggregatedChanceDelta) {
+      return new SamplingDiscreteAliasDistribution<>(aggregatedChanceDelta);
+    }
+
+    @Override
+    public SamplingDiscreteIntDistribution createInt(final long[] frequencies)
+        throws IllegalArgumentException {
+      return SamplingDiscreteIntAliasDistribution.of(frequencies);
+    }
+  };
+
+  /**
+   * Creates a new empty distribution of this type.
+   *
+   * @param aggregatedChanceDelta Clearance for the maximum aggregated chance, see
+   *        {@link SamplingDiscreteTreeDistribution#aggregatedChanceDelta}.
+   * @param <T> Type of events to sample.
+   * @return Empty distribution.
+   */
+  public abstract <T> MutableSamplingDiscreteDistribution<T> create(double aggregatedChanceDelta);
+
+  /**
+   * Creates a distribution of {@code int} values of this type that samples each index {@code i} of
+   * {@code frequencies} with chance {@code frequencies[i] / sum(frequencies)}. {@link #TREE} and
+   * {@link #ARRAY} both create a {@link SamplingDiscreteIntArrayDistribution}.
+   *
+   * @param frequencies Frequencies of the values {@code 0} to {@code frequencies.length - 1}.
+   * @return Distribution.
+   * @throws IllegalArgumentException Thrown if a frequency is negative.
+   */
+  public SamplingDiscreteIntDistribution createInt(final long[] frequencies)
+      throws IllegalArgumentException {
+    return SamplingDiscreteIntArrayDistribution.of(frequencies);
+  }
+}
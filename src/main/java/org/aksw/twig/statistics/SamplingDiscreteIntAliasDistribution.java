@@ -0,0 +1,173 @@
+package org.aksw.twig.statistics;
+
+import java.util.Random;
+
+/**
+ * Samples {@code int} values by Vose's alias method like {@link SamplingDiscreteAliasDistribution}
+ * does, but stores the values and the alias table in primitive arrays. Sampling is in
+ * {@code O(1)} and needs only one random number. Distributions are created of frequencies by
+ * {@link #of(long[])}.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Alias_method">Alias method on Wikipedia</a>
+ */
+public class SamplingDiscreteIntAliasDistribution implements SamplingDiscreteIntDistribution {
+
+  private final Random random = new Xoroshiro128PlusRandom();
+
+  private final int[] values;
+
+  /**
+   * Chance of column {@code i} to sample {@code values[i]} instead of
+   * {@code values[aliases[i]]}.
+   */
+  private final double[] chances;
+
+  private final int[] aliases;
+
+  private SamplingDiscreteIntAliasDistribution(final int[] values, final double[] chances,
+      final int[] aliases) {
+    this.values = values;
+    this.chances = chances;
+    this.aliases = aliases;
+  }
+
+  /**
+   * Creates a distribution that samples each index {@code i} of {@code frequencies} with chance
+   * {@code frequencies[i] / sum(frequencies)}. The alias table is built in {@code O(n)}.
+   *
+   * @param frequencies Frequencies of the values {@code 0} to {@code frequencies.length - 1}.
+   * @return Distribution.
+   * @throws IllegalArgumentException Thrown if a frequency is negative.
+   */
+  public static SamplingDiscreteIntAliasDistribution of(final long[] frequencies)
+      throws IllegalArgumentException {
+    long sum = 0;
+    int size = 0;
+    for (long frequency : frequencies) {
+      if (frequency < 0) {
+        throw new IllegalArgumentException("Frequencies must not be negative.");
+      }
+      sum += frequency;
+      size += frequency > 0 ? 1 : 0;
+    }
+
+    final int[] values = new int[size];
+    final double[] scaled = new double[size];
+    int index = 0;
+    for (int value = 0; value < frequencies.length; value++) {
+      if (frequencies[value] > 0) {
+        scaled[index] = ((double) frequencies[value] * size) / sum;
+        values[index++] = value;
+      }
+    }
+
+    final double[] chances = new double[size];
+    final int[] aliases = new int[size];
+    final int[] small = new int[size];
+    final int[] large = new int[size];
+    int smallSize = 0;
+    int largeSize = 0;
+    for (int i = 0; i < size; i++) {
+      if (scaled[i] < 1) {
+        small[smallSize++] = i;
+      } else {
+        large[largeSize++] = i;
+      }
+    }
+
+    while ((smallSize > 0) && (largeSize > 0)) {
+      final int less = small[--smallSize];
+      final int more = large[--largeSize];
+      chances[less] = scaled[less];
+      aliases[less] = more;
+      scaled[more] = (scaled[more] + scaled[less]) - 1;
+      if (scaled[more] < 1) {
+        small[smallSize++] = more;
+      } else {
+        large[largeSize++] = more;
+      }
+    }
+
+    // remaining columns are full up to rounding errors
+    while (largeSize > 0) {
+      chances[large[--largeSize]] = 1;
+    }
+    while (smallSize > 0) {
+      chances[small[--smallSize]] = 1;
+    }
+
+    return new SamplingDiscreteIntAliasDistribution(values, chances, aliases);
+  }
+
+  /**
+   * Returns the number of values with a chance greater than {@code 0}.
+   *
+   * @return Number of values.
+   */
+  public int size() {
+    return values.length;
+  }
+
+  @Override
+  public long getSupportSize() {
+    return values.length;
+  }
+
+  @Override
+  public void reseedRandomGenerator(final long seed) {
+    random.setSeed(seed);
+  }
+
+  @Override
+  public Integer sample() {
+    return sample(random);
+  }
+
+  @Override
+  public Integer sample(final Random r) {
+    return values.length == 0 ? null : sampleInt(r);
+  }
+
+  @Override
+  public int sampleInt(final Random r) throws IllegalStateException {
+    if (values.length == 0) {
+      throw new IllegalStateException("Sample space is empty.");
+    }
+
+    return values[column(r.nextDouble())];
+  }
+
+  @Override
+  public void sample(final int n, final Random r, final int[] out) throws IllegalStateException {
+    if (values.length == 0) {
+      throw new IllegalStateException("Sample space is empty.");
+    }
+
+    for (int i = 0; i < n; i++) {
+      out[i] = values[column(r.nextDouble())];
+    }
+  }
+
+  @Override
+  public void sample(final int n, final Random r, final long[] out) throws IllegalStateException {
+    if (values.length == 0) {
+      throw new IllegalStateException("Sample space is empty.");
+    }
+
+    for (int i = 0; i < n; i++) {
+      out[i] = values[column(r.nextDouble())];
+    }
+  }
+
+  /**
+   * Returns the index of the value sampled by {@code random}, a number in {@code [0, 1)}. The
+   * integral part of {@code random * n} selects the column and the fractional part decides between
+   * the column and its alias.
+   */
+  private int column(final double random) {
+    final int n = values.length;
+    final double value = random * n;
+    final int column = Math.min((int) value, n - 1);
+    return (value - column) < chances[column] ? column : aliases[column];
+  }
+}
@@ -0,0 +1,139 @@
+package org.aksw.twig.statistics;
+
+import java.util.Random;
+
+/**
+ * Samples {@code int} values by searching an array of aggregated chances like
+ * {@link SamplingDiscreteArrayDistribution} does, but stores the values in an {@code int[]}.
+ * Distributions are created of frequencies by {@link #of(long[])}.
+ */
+public class SamplingDiscreteIntArrayDistribution implements SamplingDiscreteIntDistribution {
+
+  private final Random random = new Xoroshiro128PlusRandom();
+
+  /**
+   * Aggregated chance of each value and all values prior to it.
+   */
+  private final double[] aggregatedChances;
+
+  private final int[] values;
+
+  private SamplingDiscreteIntArrayDistribution(final double[] aggregatedChances,
+      final int[] values) {
+    this.aggregatedChances = aggregatedChances;
+    this.values = values;
+  }
+
+  /**
+   * Creates a distribution that samples each index {@code i} of {@code frequencies} with chance
+   * {@code frequencies[i] / sum(frequencies)}.
+   *
+   * @param frequencies Frequencies of the values {@code 0} to {@code frequencies.length - 1}.
+   * @return Distribution.
+   * @throws IllegalArgumentException Thrown if a frequency is negative.
+   */
+  public static SamplingDiscreteIntArrayDistribution of(final long[] frequencies)
+      throws IllegalArgumentException {
+    long sum = 0;
+    int size = 0;
+    for (long frequency : frequencies) {
+      if (frequency < 0) {
+        throw new IllegalArgumentException("Frequencies must not be negative.");
+      }
+      sum += frequency;
+      size += frequency > 0 ? 1 : 0;
+    }
+
+    final double[] aggregatedChances = new double[size];
+    final int[] values = new int[size];
+    long aggregated = 0;
+    int index = 0;
+    for (int value = 0; value < frequencies.length; value++) {
+      if (frequencies[value] > 0) {
+        aggregated += frequencies[value];
+        aggregatedChances[index] = (double) aggregated / sum;
+        values[index++] = value;
+      }
+    }
+
+    return new SamplingDiscreteIntArrayDistribution(aggregatedChances, values);
+  }
+
+  /**
+   * Returns the number of values with a chance greater than {@code 0}.
+   *
+   * @return Number of values.
+   */
+  public int size() {
+    return values.length;
+  }
+
+  @Override
+  public long getSupportSize() {
+    return values.length;
+  }
+
+  @Override
+  public void reseedRandomGenerator(final long seed) {
+    random.setSeed(seed);
+  }
+
+  @Override
+  public Integer sample() {
+    return sample(random);
+  }
+
+  @Override
+  public Integer sample(final Random r) {
+    return values.length == 0 ? null : sampleInt(r);
+  }
+
+  @Override
+  public int sampleInt(final Random r) throws IllegalStateException {
+    if (values.length == 0) {
+      throw new IllegalStateException("Sample space is empty.");
+    }
+
+    return values[search(r.nextDouble())];
+  }
+
+  @Override
+  public void sample(final int n, final Random r, final int[] out) throws IllegalStateException {
+    if (values.length == 0) {
+      throw new IllegalStateException("Sample space is empty.");
+    }
+
+    for (int i = 0; i < n; i++) {
+      out[i] = values[search(r.nextDouble())];
+    }
+  }
+
+  @Override
+  public void sample(final int n, final Random r, final long[] out) throws IllegalStateException {
+    if (values.length == 0) {
+      throw new IllegalStateException("Sample space is empty.");
+    }
+
+    for (int i = 0; i < n; i++) {
+      out[i] = values[search(r.nextDouble())];
+    }
+  }
+
+  /**
+   * Returns the index of the first value with an aggregated chance greater than {@code value} or
+   * the last index.
+   */
+  private int search(final double value) {
+    int base = 0;
+    int length = aggregatedChances.length;
+    while (length > 1) {
+      final int half = length >>> 1;
+      base = aggregatedChances[base + half] <= value ? base + half : base;
+      length -= half;
+    }
+    if ((aggregatedChances[base] <= value) && (base < (aggregatedChances.length - 1))) {
+      base++;
+    }
+    return base;
+  }
+}
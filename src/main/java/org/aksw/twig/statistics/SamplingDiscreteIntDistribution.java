@@ -0,0 +1,58 @@
+package org.aksw.twig.statistics;
+
+import java.util.Random;
+
+/**
+ * Discrete distribution of {@code int} values that can be sampled without boxing.
+ */
+public interface SamplingDiscreteIntDistribution extends SamplingDiscreteDistribution<Integer> {
+
+  /**
+   * Samples a value whilst using {@code r} as source of randomness.
+   * 
+   * @param r Source of randomness.
+   * @return Sampled value.
+   * @throws IllegalStateException Thrown if the sample space is empty.
+   */
+  int sampleInt(Random r) throws IllegalStateException;
+
+  /**
+   * Samples {@code n} values whilst using {@code r} as source of randomness and stores them in
+   * {@code out[0]} to {@code out[n - 1]}.
+   * 
+   * @param n Number of values to sample.
+   * @param r Source of randomness.
+   * @param out Array to store the values in. Must have at least {@code n} elements.
+   * @throws IllegalStateException Thrown if the sample space is empty.
+   */
+  default void sample(final int n, final Random r, final int[] out) throws IllegalStateException {
+    for (int i = 0; i < n; i++) {
+      out[i] = sampleInt(r);
+    }
+  }
+
+  /**
+   * Samples {@code n} values like {@link #sample(int, Random, int[])} but stores them in a
+   * {@code long[]}, e. g. to add offsets that exceed the range of {@code int} in place.
+   * 
+   * @param n Number of values to sample.
+   * @param r Source of randomness.
+   * @param out Array to store the values in. Must have at least {@code n} elements.
+   * @throws IllegalStateException Thrown if the sample space is empty.
+   */
+  default void sample(final int n, final Random r, final long[] out) throws IllegalStateException {
+    for (int i = 0; i < n; i++) {
+      out[i] = sampleInt(r);
+    }
+  }
+
+  /**
+   * Returns an upper bound of the number of values with a chance greater than {@code 0}. Unless
+   * overridden the bound is unknown and {@link Long#MAX_VALUE} is returned.
+   * 
+   * @return Maximum number of distinct values that can be sampled.
+   */
+  default long getSupportSize() {
+    return Long.MAX_VALUE;
+  }
+}
@@ -1,5 +1,7 @@
 package org.aksw.twig.statistics;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import org.aksw.twig.structs.AVLTree;
@@ -10,9 +12,9 @@ import org.aksw.twig.structs.AVLTree;
  *
  * @param <T> Type of the events to sample.
  */
-public class SamplingDiscreteTreeDistribution<T> implements SamplingDiscreteDistribution<T> {
+public class SamplingDiscreteTreeDistribution<T> implements MutableSamplingDiscreteDistribution<T> {
 
-  private final Random random = new Random();
+  private final Random random = new Xoroshiro128PlusRandom();
 
   private double aggregatedChance;
 
@@ -60,7 +62,7 @@ public class SamplingDiscreteTreeDistribution<T> implements SamplingDiscreteDist
     this.aggregatedChanceDelta = aggregatedChanceDelta;
   }
 
-  private final AVLTree<ChanceMapping> sampleTree = new AVLTree<>();
+  private AVLTree<ChanceMapping> sampleTree = new AVLTree<>();
 
   /**
    * Adds a discrete event with its chance to the sample space.
@@ -69,10 +71,13 @@ public class SamplingDiscreteTreeDistribution<T> implements SamplingDiscreteDist
    * @param chance Chance of the event.
    * @throws IllegalArgumentException Thrown if the aggregated chance of all events is truly greater
    *         than {@code 1 + }{@link #aggregatedChanceDelta} of if {@code chance} is {@code 0}.
-   * @throws IllegalStateException Thrown if the aggregated chance of all events was {@code >= 1}.
+   * @throws IllegalStateException Thrown if the aggregated chance of all events was {@code >= 1} or
+   *         if the distribution has been sealed.
    */
+  @Override
   public void addDiscreteEvent(final T event, final double chance)
       throws IllegalArgumentException, IllegalStateException {
+    checkNotSealed();
     if (aggregatedChance >= 1) {
       throw new IllegalStateException(
           "Aggregated chance was >= 1 - would lead into impossible event");
@@ -81,6 +86,80 @@ public class SamplingDiscreteTreeDistribution<T> implements SamplingDiscreteDist
     sampleTree.add(new ChanceMapping(event, chance));
   }
 
+  /**
+   * Adds discrete events with their chances to the sample space. Since events are added with
+   * ascending aggregated chances the tree is bulk-built by {@link AVLTree#ofSorted(List)} in
+   * {@code O(n)} instead of inserting each event with rebalancing rotations. If an event cannot be
+   * added, none of the events is added.
+   *
+   * @param events Events to add to the sample space.
+   * @param chances Chance of each event.
+   * @throws IllegalArgumentException Thrown like in {@link #addDiscreteEvent(Object, double)} or if
+   *         the number of chances differs from the number of events.
+   * @throws IllegalStateException Thrown like in {@link #addDiscreteEvent(Object, double)}.
+   */
+  @Override
+  public void addDiscreteEvents(final List<? extends T> events, final double[] chances)
+      throws IllegalArgumentException, IllegalStateException {
+    if (events.size() != chances.length) {
+      throw new IllegalArgumentException("Number of events and chances differ.");
+    }
+
+    checkNotSealed();
+    final List<ChanceMapping> mappings = new ArrayList<>(sampleTree.size() + chances.length);
+    sampleTree.forEachInOrder(mappings::add);
+
+    final double previousAggregatedChance = aggregatedChance;
+    try {
+      for (int i = 0; i < chances.length; i++) {
+        if (aggregatedChance >= 1) {
+          throw new IllegalStateException(
+              "Aggregated chance was >= 1 - would lead into impossible event");
+        }
+        mappings.add(new ChanceMapping(events.get(i), chances[i]));
+      }
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      aggregatedChance = previousAggregatedChance;
+      throw e;
+    }
+
+    sampleTree = AVLTree.ofSorted(mappings);
+  }
+
+  /**
+   * Freezes the sample tree by {@link AVLTree#freeze()} so that it is sampled by binary search on
+   * an array and can be sampled concurrently without locking.
+   */
+  @Override
+  public void seal() {
+    sampleTree.freeze();
+  }
+
+  private void checkNotSealed() {
+    if (sampleTree.isFrozen()) {
+      throw new IllegalStateException("Distribution has been sealed.");
+    }
+  }
+
+  /**
+   * Converts this distribution into a {@link SamplingDiscreteArrayDistribution} holding the same
+   * events with the same chances. This distribution is not altered.
+   *
+   * @return Array distribution.
+   */
+  public SamplingDiscreteArrayDistribution<T> freeze() {
+    final double[] aggregatedChances = new double[sampleTree.size()];
+    final Object[] events = new Object[sampleTree.size()];
+    final int[] i = new int[1];
+    sampleTree.forEachInOrder(mapping -> {
+      aggregatedChances[i[0]] = mapping.aggregatedChanceToThis;
+      events[i[0]++] = mapping.val;
+    });
+
+    return new SamplingDiscreteArrayDistribution<>(aggregatedChanceDelta, aggregatedChances,
+        events, events.length);
+  }
+
   @Override
   public void reseedRandomGenerator(final long seed) {
     random.setSeed(seed);
@@ -1,5 +1,7 @@
 package org.aksw.twig.statistics;
 
+import java.io.Serializable;
+
 import org.apache.commons.math3.stat.regression.ModelSpecificationException;
 import org.apache.commons.math3.stat.regression.SimpleRegression;
 
@@ -7,9 +9,16 @@ import org.apache.commons.math3.stat.regression.SimpleRegression;
  * Performs two dimensional exponential regression on a data set. Exponential regression will be
  * done via linear regression on the same dat set with logarithmized y-axis. The result of the
  * linear regression is a function {@code f(x) = a + b * x}. This result will be translated into
- * {@code f(x) = alpha + e^(beta * x)} with {@code alpha = e^a} and {@code beta = b}.
+ * {@code f(x) = alpha + e^(beta * x)} with {@code alpha = e^a} and {@code beta = b}.<br>
+ * <br>
+ * The state of the regression only consists of sums over the data set, so regressions of
+ * different parts of a data set can be fitted independently, e. g. in different processes, and
+ * combined by {@link #merge(SimpleExponentialRegression)} afterwards. Measures of the goodness of
+ * fit refer to the linear regression, i. e. they are calculated on the logarithmized y-axis.
  */
-public class SimpleExponentialRegression {
+public class SimpleExponentialRegression implements Serializable {
+
+  private static final long serialVersionUID = -2186021733627409184L;
 
   private final SimpleRegression linearRegression = new SimpleRegression();
 
@@ -63,5 +72,57 @@ public class SimpleExponentialRegression {
     return linearRegression.getSlope();
   }
 
-  // TODO: add error calculation
+  /**
+   * Returns the number of data points that have been added.
+   *
+   * @return Number of data points.
+   */
+  public long getN() {
+    return linearRegression.getN();
+  }
+
+  /**
+   * Returns the coefficient of determination of the linear regression on the logarithmized
+   * y-axis. A value of {@code 1} means that all data points lie on the fitted function.
+   *
+   * @return R-square value or {@link Double#NaN} if there are less than two data points.
+   */
+  public double getRSquare() {
+    return linearRegression.getRSquare();
+  }
+
+  /**
+   * Returns the sum of squared errors of the linear regression on the logarithmized y-axis.
+   *
+   * @return Sum of squared errors or {@link Double#NaN} if there are less than two data points.
+   */
+  public double getSumSquaredErrors() {
+    return linearRegression.getSumSquaredErrors();
+  }
+
+  /**
+   * Returns the mean squared error of the linear regression on the logarithmized y-axis, i. e.
+   * {@link #getSumSquaredErrors()} divided by {@code n - 2}.
+   *
+   * @return Mean squared error or {@link Double#NaN} if there are less than three data points.
+   */
+  public double getMeanSquareError() {
+    return linearRegression.getMeanSquareError();
+  }
+
+  /**
+   * Merges the data set of given regression into this. Afterwards this regression has the same
+   * result as if all data of both regressions had been added to it.
+   *
+   * @param regression Regression to merge.
+   */
+  public void merge(final SimpleExponentialRegression regression) {
+    linearRegression.append(regression.linearRegression);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("f(x) = %f * e^(%f * x), n = %d, R^2 = %f", getAlpha(), getBeta(), getN(),
+        getRSquare());
+  }
 }
@@ -0,0 +1,150 @@
+package org.aksw.twig.statistics;
+
+import java.util.Random;
+
+/**
+ * Pseudo random number generator implementing the xoroshiro128+ algorithm. Other than
+ * {@link Random} it does not synchronize, so an instance must not be shared between threads.
+ * Instead every thread should use its own generator created by {@link #split()} or
+ * {@link #forStream(long, long)}.<br>
+ * <br>
+ * Since this class extends {@link Random} it can be passed to all
+ * {@link SamplingDiscreteDistribution} implementations. Equal seeds produce equal sequences.
+ *
+ * @see <a href="http://prng.di.unimi.it/">xoshiro / xoroshiro generators</a>
+ */
+public class Xoroshiro128PlusRandom extends Random {
+
+  private static final long serialVersionUID = 2532815283917424155L;
+
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private static final long[] JUMP = new long[] {0xDF900294D8F554A5L, 0x170865DF4B3201FCL};
+
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  // must not have initializers since they would be run after Random's constructor called setSeed
+
+  private long s0;
+
+  private long s1;
+
+  /**
+   * Creates a new generator with a random seed.
+   */
+  public Xoroshiro128PlusRandom() {
+    super();
+  }
+
+  /**
+   * Creates a new generator with given seed.
+   *
+   * @param seed Seed.
+   */
+  public Xoroshiro128PlusRandom(final long seed) {
+    super(seed);
+  }
+
+  private Xoroshiro128PlusRandom(final long s0, final long s1) {
+    super(0);
+    this.s0 = s0;
+    this.s1 = s1;
+  }
+
+  /**
+   * Creates the generator of stream {@code index} of all streams of given seed. Streams with
+   * different indices are independent, equal arguments create equal generators. Seed and index are
+   * mixed separately, so the states of streams with neighbouring indices do not overlap as they
+   * would for neighbouring seeds passed to {@link #setSeed(long)}.
+   *
+   * @param seed Seed of all streams.
+   * @param index Index of the stream.
+   * @return Generator.
+   */
+  public static Xoroshiro128PlusRandom forStream(final long seed, final long index) {
+    return new Xoroshiro128PlusRandom(mix(mix(seed) ^ mix(index + GOLDEN_GAMMA)));
+  }
+
+  /**
+   * Returns a new generator continuing the sequence of this one. This generator jumps
+   * {@code 2^64} values ahead, so the sequences of both generators will not overlap.
+   *
+   * @return Generator.
+   */
+  public Xoroshiro128PlusRandom split() {
+    final Xoroshiro128PlusRandom split = new Xoroshiro128PlusRandom(s0, s1);
+    jump();
+    return split;
+  }
+
+  private void jump() {
+    long jumped0 = 0;
+    long jumped1 = 0;
+    for (long jump : JUMP) {
+      for (int b = 0; b < 64; b++) {
+        if ((jump & (1L << b)) != 0) {
+          jumped0 ^= s0;
+          jumped1 ^= s1;
+        }
+        nextLong();
+      }
+    }
+    s0 = jumped0;
+    s1 = jumped1;
+  }
+
+  /**
+   * Sets the seed. The state is initialized by SplitMix64 of the seed as recommended by the
+   * authors of xoroshiro128+.
+   *
+   * @param seed Seed.
+   */
+  @Override
+  public void setSeed(final long seed) {
+    // resets the cached gaussian of Random
+    super.setSeed(seed);
+    long z = seed;
+    s0 = mix(z += GOLDEN_GAMMA);
+    s1 = mix(z + GOLDEN_GAMMA);
+  }
+
+  /**
+   * Returns a copy of the current state.
+   */
+  long[] getState() {
+    return new long[] {s0, s1};
+  }
+
+  @Override
+  protected int next(final int bits) {
+    return (int) (nextLong() >>> (64 - bits));
+  }
+
+  @Override
+  public int nextInt() {
+    return (int) (nextLong() >>> 32);
+  }
+
+  @Override
+  public long nextLong() {
+    final long result = s0 + s1;
+    final long t = s1 ^ s0;
+    s0 = Long.rotateLeft(s0, 24) ^ t ^ (t << 16);
+    s1 = Long.rotateLeft(t, 37);
+    return result;
+  }
+
+  @Override
+  public double nextDouble() {
+    return (nextLong() >>> 11) * DOUBLE_UNIT;
+  }
+
+  /**
+   * Finalizer of SplitMix64.
+   */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
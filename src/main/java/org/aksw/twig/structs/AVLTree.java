@@ -1,9 +1,11 @@
 package org.aksw.twig.structs;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 /**
  * Implementation of an AVL tree. An AVL tree is roughly the same as a normal binary tree but is
@@ -11,17 +13,82 @@ import java.util.List;
  * the size of the tree.<br>
  * Note that in this implementation only {@link #contains(Comparable)}, {@link #remove(Comparable)}
  * are guaranteed to run in {@code O(log n)} whereas {@link #contains(Object)},
- * {@link #remove(Object)} will run in {@code O(n)}.
+ * {@link #remove(Object)} will run in {@code O(n)}.<br>
+ * <br>
+ * A tree that will not be altered anymore can be frozen by {@link #freeze()}. Frozen trees are
+ * immutable and safe for concurrent reading. Readers first read {@link #root} and then
+ * {@link #frozen}, while freezing publishes {@link #frozen} before it clears {@link #root}. So a
+ * reader sees either the intact nodes or the frozen elements, even while the tree is being frozen.
+ * <br>
+ * <br>
+ * Iteration is in ascending order whether the tree is frozen or not.
  *
  * @see <a href="https://en.wikipedia.org/wiki/AVL_tree">AVL tree on Wikipedia</a>
  * @param <T> Type of the tree's elements.
  */
 public class AVLTree<T extends Comparable<T>> implements Collection<T> {
 
-  private AVLNode root;
+  /**
+   * Root node or {@code null} if the tree is empty or frozen. Volatile so that readers see it
+   * cleared only after {@link #frozen} has been published.
+   */
+  private volatile AVLNode root;
 
   private int size = 0;
 
+  /**
+   * All elements in ascending order once the tree has been frozen, {@code null} before.
+   */
+  private volatile Object[] frozen;
+
+  /**
+   * Creates a tree holding all elements of given list. Other than adding the elements one by one
+   * this runs in {@code O(n)} and needs no rotations: The median becomes the root and both halves
+   * are built the same way, so the resulting tree is perfectly balanced.
+   *
+   * @param sorted Elements ascending by {@link Comparable#compareTo(Object)}. The list should
+   *        support fast random access.
+   * @param <T> Type of the elements.
+   * @return Tree.
+   * @throws IllegalArgumentException Thrown if the elements are not sorted.
+   * @throws NullPointerException Thrown if an element is {@code null}.
+   */
+  public static <T extends Comparable<T>> AVLTree<T> ofSorted(final List<? extends T> sorted)
+      throws IllegalArgumentException, NullPointerException {
+    for (int i = 0; i < sorted.size(); i++) {
+      if (sorted.get(i) == null) {
+        throw new NullPointerException();
+      }
+      if ((i > 0) && (sorted.get(i - 1).compareTo(sorted.get(i)) > 0)) {
+        throw new IllegalArgumentException("Elements must be sorted ascending.");
+      }
+    }
+
+    final AVLTree<T> tree = new AVLTree<>();
+    tree.root = tree.build(sorted, 0, sorted.size(), null);
+    tree.size = sorted.size();
+    return tree;
+  }
+
+  /**
+   * Builds a balanced sub-tree of the elements from index {@code from} (inclusive) to {@code to}
+   * (exclusive).
+   */
+  private AVLNode build(final List<? extends T> sorted, final int from, final int to,
+      final AVLNode parent) {
+    if (from == to) {
+      return null;
+    }
+
+    // with an even number of elements the lower half gets the additional one
+    final int mid = (from + to) >>> 1;
+    final AVLNode node = new AVLNode(sorted.get(mid), parent);
+    node.leq = build(sorted, from, mid, node);
+    node.gtr = build(sorted, mid + 1, to, node);
+    node.refreshBalance();
+    return node;
+  }
+
   /**
    * Finds the first greater element to given one.<br>
    * <br>
@@ -29,18 +96,20 @@ public class AVLTree<T extends Comparable<T>> implements Collection<T> {
    * of the set: {@code { x in tree | x.compareTo(toCompare) > 0 }}
    *
    * @param toCompare Element to compare by.
-   * @return Minimal greater element.
+   * @return Minimal greater element or {@code null} if there is no greater element.
    */
   public T findGreater(final T toCompare) {
-    if (root == null) {
-      return null;
+    AVLNode current = root;
+    final Object[] elements = frozen;
+    if (elements != null) {
+      final int index = upperBound(elements, toCompare);
+      return index == elements.length ? null : element(elements, index);
     }
 
-    AVLNode current = root;
     AVLNode best = null;
     while (true) {
       if (current == null) {
-        return best == null ? root.val : best.val;
+        return best == null ? null : best.val;
       }
 
       final int comparison = current.val.compareTo(toCompare);
@@ -61,11 +130,16 @@ public class AVLTree<T extends Comparable<T>> implements Collection<T> {
    * @return Greatest element in the tree.
    */
   public T getGreatest() {
-    if (root == null) {
+    AVLNode greatest = root;
+    final Object[] elements = frozen;
+    if (elements != null) {
+      return elements.length == 0 ? null : element(elements, elements.length - 1);
+    }
+
+    if (greatest == null) {
       return null;
     }
 
-    AVLNode greatest = root;
     while (greatest.gtr != null) {
       greatest = greatest.gtr;
     }
@@ -78,8 +152,195 @@ public class AVLTree<T extends Comparable<T>> implements Collection<T> {
     return size;
   }
 
+  /**
+   * Returns the height of the tree. A frozen tree has the height of a perfectly balanced tree of
+   * its size.
+   *
+   * @return Height.
+   */
   public int height() {
-    return root == null ? 0 : root.height;
+    final AVLNode node = root;
+    if (frozen != null) {
+      return 32 - Integer.numberOfLeadingZeros(size);
+    }
+
+    return node == null ? 0 : node.height;
+  }
+
+  /**
+   * Freezes this tree. Afterwards all methods altering the tree throw an
+   * {@link UnsupportedOperationException}. The nodes are compacted into one array of all elements
+   * in ascending order, so a frozen tree only needs one reference per element and searches run by
+   * binary search on the array.<br>
+   * <br>
+   * A frozen tree is safe for concurrent reading without any locking, including
+   * {@link #findGreater(Comparable)} and iteration. Reading concurrently to freezing is safe as
+   * well, as long as the tree is not altered. Freezing runs in {@code O(n)}.
+   *
+   * @return {@code this}
+   */
+  public synchronized AVLTree<T> freeze() {
+    if (frozen != null) {
+      return this;
+    }
+
+    final Object[] elements = new Object[size];
+    final int[] i = new int[1];
+    forEachInOrder(element -> elements[i[0]++] = element);
+
+    // volatile write publishes the array and all elements before the nodes are dropped
+    frozen = elements;
+    root = null;
+    return this;
+  }
+
+  /**
+   * Returns {@code true} if the tree has been frozen by {@link #freeze()}.
+   *
+   * @return {@code true} if the tree is frozen.
+   */
+  public boolean isFrozen() {
+    return frozen != null;
+  }
+
+  /**
+   * Performs the action for each element in ascending order. Other than {@link #iterator()} this
+   * allocates nothing: The traversal follows the parent references of the nodes instead of keeping
+   * a path. Runs in {@code O(n)}. The tree must not be altered by the action.
+   *
+   * @param action Action to perform.
+   */
+  public void forEachInOrder(final Consumer<? super T> action) {
+    final AVLNode start = root;
+    final Object[] elements = frozen;
+    if (elements != null) {
+      for (int i = 0; i < elements.length; i++) {
+        action.accept(element(elements, i));
+      }
+      return;
+    }
+
+    for (AVLNode node = first(start); node != null; node = node.successor()) {
+      action.accept(node.val);
+    }
+  }
+
+  /**
+   * Returns an iterator over all elements {@code x} with {@code lower <= x < upper} in ascending
+   * order. A bound of {@code null} stands for no bound. Finding the first element runs in
+   * {@code O(log n)}, every further element in amortized {@code O(1)}. Like {@link #iterator()}
+   * the cursor behaves undefined after the tree has been altered.
+   *
+   * @param lower Inclusive lower bound or {@code null}.
+   * @param upper Exclusive upper bound or {@code null}.
+   * @return Ascending cursor.
+   */
+  public Iterator<T> cursor(final T lower, final T upper) {
+    return new Cursor(lower, upper, false);
+  }
+
+  /**
+   * Same as {@link #cursor(Comparable, Comparable)} but iterates in descending order, i. e.
+   * starting with the greatest element less than {@code upper}.
+   *
+   * @param lower Inclusive lower bound or {@code null}.
+   * @param upper Exclusive upper bound or {@code null}.
+   * @return Descending cursor.
+   */
+  public Iterator<T> descendingCursor(final T lower, final T upper) {
+    return new Cursor(lower, upper, true);
+  }
+
+  /**
+   * Returns the least node of the sub-tree or {@code null} if it is empty.
+   */
+  private AVLNode first(AVLNode node) {
+    if (node == null) {
+      return null;
+    }
+    while (node.leq != null) {
+      node = node.leq;
+    }
+    return node;
+  }
+
+  /**
+   * Returns the least node of the sub-tree that is not less than {@code lower} or {@code null}.
+   */
+  private AVLNode ceiling(AVLNode node, final T lower) {
+    AVLNode best = null;
+    while (node != null) {
+      if (node.val.compareTo(lower) >= 0) {
+        best = node;
+        node = node.leq;
+      } else {
+        node = node.gtr;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Returns the greatest node of the sub-tree that is less than {@code upper} or {@code null}.
+   */
+  private AVLNode lower(AVLNode node, final T upper) {
+    AVLNode best = null;
+    while (node != null) {
+      if (node.val.compareTo(upper) < 0) {
+        best = node;
+        node = node.gtr;
+      } else {
+        node = node.leq;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Returns the index of the first element that is not less than {@code toCompare} in the sorted
+   * array or {@code elements.length} if there is none.
+   */
+  private int lowerBound(final Object[] elements, final T toCompare) {
+    int low = 0;
+    int high = elements.length;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (AVLTree.<T>element(elements, mid).compareTo(toCompare) >= 0) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+
+  private void checkNotFrozen() throws UnsupportedOperationException {
+    if (frozen != null) {
+      throw new UnsupportedOperationException("Tree is frozen.");
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T element(final Object[] elements, final int index) {
+    return (T) elements[index];
+  }
+
+  /**
+   * Returns the index of the first element that is greater than {@code toCompare} in the sorted
+   * array or {@code elements.length} if there is none.
+   */
+  private int upperBound(final Object[] elements, final T toCompare) {
+    int low = 0;
+    int high = elements.length;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (AVLTree.<T>element(elements, mid).compareTo(toCompare) > 0) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
   }
 
   @Override
@@ -96,11 +357,28 @@ public class AVLTree<T extends Comparable<T>> implements Collection<T> {
    * @return {@code true} if and only if value is present in the tree.
    */
   public boolean contains(final T value) {
-    if ((root == null) || (value == null)) {
+    if (value == null) {
+      return false;
+    }
+
+    final AVLNode start = root;
+    final Object[] elements = frozen;
+    if (elements != null) {
+      // equal elements are left of the upper bound
+      for (int i = upperBound(elements, value) - 1; (i >= 0)
+          && (AVLTree.<T>element(elements, i).compareTo(value) == 0); i--) {
+        if (elements[i].equals(value)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    if (start == null) {
       return false;
     }
 
-    final AVLNode node = root.traverse(value, true);
+    final AVLNode node = start.traverse(value, true);
     return (node != null) && node.val.equals(value);
   }
 
@@ -121,21 +399,24 @@ public class AVLTree<T extends Comparable<T>> implements Collection<T> {
   }
 
   /**
-   * Returns an iterator over all elements of the AVL tree. Iteration will be executed by
-   * depth-first search. Iterator is not safe for concurrent modification and will behave undefined
-   * after collection altering.
+   * Returns an iterator over all elements of the AVL tree in ascending order, whether the tree is
+   * frozen or not. Same as {@link #cursor(Comparable, Comparable)} without bounds. Iterator is not
+   * safe for concurrent modification and will behave undefined after collection altering.
    *
-   * @see <a href="https://en.wikipedia.org/wiki/Depth-first_search">Depth-first search on
-   *      Wikipedia</a>
    * @return Iterator over all elements of the AVL tree.
    */
   @Override
   public Iterator<T> iterator() {
-    return new AVLIterator();
+    return cursor(null, null);
   }
 
   @Override
   public Object[] toArray() {
+    final Object[] elements = frozen;
+    if (elements != null) {
+      return elements.clone();
+    }
+
     final Iterator<T> iterator = iterator();
     final Object[] array = new Object[size()];
     int i = 0;
@@ -168,6 +449,7 @@ public class AVLTree<T extends Comparable<T>> implements Collection<T> {
 
   @Override
   public boolean add(final T t) {
+    checkNotFrozen();
     if (t == null) {
       throw new NullPointerException();
     }
@@ -193,6 +475,7 @@ public class AVLTree<T extends Comparable<T>> implements Collection<T> {
    * @return {@code true} if and only if value is present in the tree.
    */
   public boolean remove(final T t) {
+    checkNotFrozen();
     if ((root == null) || (t == null)) {
       return false;
     }
@@ -216,6 +499,7 @@ public class AVLTree<T extends Comparable<T>> implements Collection<T> {
 
   @Override
   public boolean remove(final Object o) {
+    checkNotFrozen();
     if (o == null) {
       return false;
     }
@@ -241,6 +525,7 @@ public class AVLTree<T extends Comparable<T>> implements Collection<T> {
 
   @Override
   public boolean addAll(final Collection<? extends T> c) {
+    checkNotFrozen();
     boolean changed = false;
     for (final T element : c) {
       changed |= add(element);
@@ -251,6 +536,7 @@ public class AVLTree<T extends Comparable<T>> implements Collection<T> {
 
   @Override
   public boolean removeAll(final Collection<?> c) {
+    checkNotFrozen();
     boolean changed = false;
     for (final Object element : c) {
       changed |= remove(element);
@@ -260,7 +546,8 @@ public class AVLTree<T extends Comparable<T>> implements Collection<T> {
 
   @Override
   public boolean retainAll(final Collection<?> c) {
-    final List<T> toRemove = new LinkedList<>();
+    checkNotFrozen();
+    final List<T> toRemove = new ArrayList<>();
     final Iterator<T> iterator = new AVLIterator();
     while (iterator.hasNext()) {
       final T next = iterator.next();
@@ -276,6 +563,7 @@ public class AVLTree<T extends Comparable<T>> implements Collection<T> {
 
   @Override
   public void clear() {
+    checkNotFrozen();
     root = null;
     size = 0;
   }
@@ -390,6 +678,44 @@ public class AVLTree<T extends Comparable<T>> implements Collection<T> {
       }
     }
 
+    /**
+     * Returns the next node in ascending order or {@code null}.
+     *
+     * @return Successor.
+     */
+    AVLNode successor() {
+      if (gtr != null) {
+        return first(gtr);
+      }
+
+      AVLNode node = this;
+      while ((node.parent != null) && (node.parent.gtr == node)) {
+        node = node.parent;
+      }
+      return node.parent;
+    }
+
+    /**
+     * Returns the previous node in ascending order or {@code null}.
+     *
+     * @return Predecessor.
+     */
+    AVLNode predecessor() {
+      if (leq != null) {
+        AVLNode node = leq;
+        while (node.gtr != null) {
+          node = node.gtr;
+        }
+        return node;
+      }
+
+      AVLNode node = this;
+      while ((node.parent != null) && (node.parent.leq == node)) {
+        node = node.parent;
+      }
+      return node.parent;
+    }
+
     /**
      * Returns the root of the node.
      *
@@ -559,6 +885,87 @@ public class AVLTree<T extends Comparable<T>> implements Collection<T> {
     }
   }
 
+  /**
+   * Iterator over the elements between two bounds in ascending or descending order. Moves along the
+   * nodes by {@link AVLNode#successor()} and {@link AVLNode#predecessor()} or along the indices of
+   * a frozen tree.
+   */
+  private class Cursor implements Iterator<T> {
+
+    private final T lower;
+
+    private final T upper;
+
+    private final boolean descending;
+
+    private final Object[] elements;
+
+    private AVLNode node;
+
+    private int index;
+
+    Cursor(final T lower, final T upper, final boolean descending) {
+      this.lower = lower;
+      this.upper = upper;
+      this.descending = descending;
+
+      final AVLNode start = root;
+      elements = frozen;
+      if (elements != null) {
+        if (descending) {
+          index = (upper == null ? elements.length : lowerBound(elements, upper)) - 1;
+        } else {
+          index = lower == null ? 0 : lowerBound(elements, lower);
+        }
+      } else if (descending) {
+        if (upper == null) {
+          node = start;
+          while ((node != null) && (node.gtr != null)) {
+            node = node.gtr;
+          }
+        } else {
+          node = lower(start, upper);
+        }
+      } else {
+        node = lower == null ? first(start) : ceiling(start, lower);
+      }
+    }
+
+    private T current() {
+      if (elements != null) {
+        return (index >= 0) && (index < elements.length) ? element(elements, index) : null;
+      }
+      return node == null ? null : node.val;
+    }
+
+    @Override
+    public boolean hasNext() {
+      final T current = current();
+      if (current == null) {
+        return false;
+      }
+      if (descending) {
+        return (lower == null) || (current.compareTo(lower) >= 0);
+      }
+      return (upper == null) || (current.compareTo(upper) < 0);
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      final T current = current();
+      if (elements != null) {
+        index += descending ? -1 : 1;
+      } else {
+        node = descending ? node.predecessor() : node.successor();
+      }
+      return current;
+    }
+  }
+
   /**
    * Iterator over all elements of this collection. Executed by depth first search.
    */
@@ -0,0 +1,140 @@
+package org.aksw.twig.structs;
+
+import java.io.Serializable;
+
+/**
+ * Immutable ordered set of {@code double} keys supporting the same searches as an
+ * {@link AVLTree}{@code <Double>} without any objects per key. Keys are stored in a
+ * {@code double[]} in Eytzinger layout, i. e. as an implicit binary search tree in breadth-first
+ * order: The children of slot {@code k} are the slots {@code 2k} and {@code 2k + 1}, slot {@code 1}
+ * being the root. The top levels of the tree share few cache lines, and a search needs no
+ * pointers, no virtual {@code compareTo} calls and no boxed search key.<br>
+ * <br>
+ * Each key needs 8 bytes for itself and 4 bytes for its index in ascending order, which is
+ * returned by {@link #indexOfGreater(double)} in order to look up values in parallel arrays.
+ *
+ * @see <a href="https://arxiv.org/abs/1509.05053">Khuong, Morin: Array layouts for
+ *      comparison-based searching</a>
+ */
+public class DoubleEytzingerTree implements Serializable {
+
+  private static final long serialVersionUID = 6418820377001452839L;
+
+  /**
+   * Keys in Eytzinger layout, slot {@code 0} is unused.
+   */
+  private final double[] keys;
+
+  /**
+   * Index of the key of each slot in ascending order.
+   */
+  private final int[] indices;
+
+  private final int size;
+
+  private DoubleEytzingerTree(final double[] sorted) {
+    size = sorted.length;
+    keys = new double[size + 1];
+    indices = new int[size + 1];
+    fill(sorted, 0, 1);
+  }
+
+  /**
+   * Creates a tree holding the given keys. Runs in {@code O(n)}.
+   *
+   * @param sorted Keys in ascending order. Equal keys are allowed.
+   * @return Tree.
+   * @throws IllegalArgumentException Thrown if the keys are not sorted or a key is
+   *         {@link Double#NaN}.
+   */
+  public static DoubleEytzingerTree ofSorted(final double[] sorted)
+      throws IllegalArgumentException {
+    for (int i = 0; i < sorted.length; i++) {
+      if (Double.isNaN(sorted[i])) {
+        throw new IllegalArgumentException("Keys must not be NaN.");
+      }
+      if ((i > 0) && (sorted[i - 1] > sorted[i])) {
+        throw new IllegalArgumentException("Keys must be sorted ascending.");
+      }
+    }
+
+    return new DoubleEytzingerTree(sorted);
+  }
+
+  /**
+   * Fills the sub-tree rooted at {@code slot} by an in-order traversal, starting with the key at
+   * {@code index}. Returns the index of the next key.
+   */
+  private int fill(final double[] sorted, int index, final int slot) {
+    if (slot <= size) {
+      index = fill(sorted, index, slot << 1);
+      keys[slot] = sorted[index];
+      indices[slot] = index++;
+      index = fill(sorted, index, (slot << 1) + 1);
+    }
+    return index;
+  }
+
+  /**
+   * Returns the number of keys.
+   *
+   * @return Number of keys.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the slot of the minimal key greater than {@code toCompare} or {@code 0} if there is no
+   * greater key.
+   */
+  private int slotOfGreater(final double toCompare) {
+    int slot = 1;
+    while (slot <= size) {
+      // descends without branching on the comparison
+      slot = (slot << 1) + (keys[slot] <= toCompare ? 1 : 0);
+    }
+    // the answer is the last node the search went left at
+    return slot >>> (Integer.numberOfTrailingZeros(~slot) + 1);
+  }
+
+  /**
+   * Finds the first greater key to given one, see {@link AVLTree#findGreater(Comparable)}.
+   *
+   * @param toCompare Key to compare by.
+   * @return Minimal greater key or {@link Double#NaN} if there is no greater key.
+   */
+  public double findGreater(final double toCompare) {
+    final int slot = slotOfGreater(toCompare);
+    return slot == 0 ? Double.NaN : keys[slot];
+  }
+
+  /**
+   * Same as {@link #findGreater(double)} but returns the index of the key in ascending order. Of
+   * equal keys the one with the least index is found.
+   *
+   * @param toCompare Key to compare by.
+   * @return Index of the minimal greater key or {@code -1} if there is no greater key.
+   */
+  public int indexOfGreater(final double toCompare) {
+    final int slot = slotOfGreater(toCompare);
+    return slot == 0 ? -1 : indices[slot];
+  }
+
+  /**
+   * Returns the greatest key.
+   *
+   * @return Greatest key or {@link Double#NaN} if there are no keys.
+   */
+  public double getGreatest() {
+    if (size == 0) {
+      return Double.NaN;
+    }
+
+    int slot = 1;
+    while (((slot << 1) + 1) <= size) {
+      slot = (slot << 1) + 1;
+    }
+    return keys[slot];
+  }
+}
@@ -0,0 +1,345 @@
+package org.aksw.twig.structs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * Immutable dictionary mapping words to ids and vice versa. Words are stored UTF-8 encoded in one
+ * byte array that is sorted and front-coded in blocks of {@link #BLOCK_SIZE} words: The first word
+ * of a block is stored in full, every other word only stores the length of the prefix it shares
+ * with its predecessor and the remaining suffix. The id of a word is its rank in the sorted
+ * dictionary. Lookups by word are done via an open addressing hash table of ids and hash codes,
+ * so a block is only decoded if the hash code of its word equals the one looked up. Words are
+ * decoded into a buffer of the calling thread.<br>
+ * <br>
+ * Compared to a {@code Map<String, Integer>} and a {@code Map<Integer, String>} this saves most of
+ * the per-word object overhead. {@link #get(int)} runs in {@code O(BLOCK_SIZE)} and
+ * {@link #indexOf(String)} in expected {@code O(BLOCK_SIZE)}.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Incremental_encoding">Front coding on Wikipedia</a>
+ */
+public class FrontCodedDictionary implements Serializable {
+
+  private static final long serialVersionUID = 3310298733950123745L;
+
+  /**
+   * Number of words per front-coded block.
+   */
+  public static final int BLOCK_SIZE = 16;
+
+  private static final double LOAD_FACTOR = 0.75;
+
+  /**
+   * Leading byte of UTF-8 encoded code points by the number of following bytes.
+   */
+  private static final int[] UTF8_LEAD = new int[] {0x00, 0xC0, 0xE0, 0xF0};
+
+  /**
+   * Buffer to decode words into, shared by all dictionaries of a thread.
+   */
+  private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[64]);
+
+  private final int size;
+
+  private final int maxWordBytes;
+
+  /**
+   * Front-coded blocks of UTF-8 encoded words.
+   */
+  private final byte[] data;
+
+  /**
+   * Offset of each block in {@link #data}.
+   */
+  private final int[] blockOffsets;
+
+  /**
+   * Open addressing hash table. Each slot holds the {@link String#hashCode()} of the word in the
+   * upper and {@code id + 1} in the lower 32 bits or {@code 0} if the slot is empty.
+   */
+  private final long[] hashTable;
+
+  private FrontCodedDictionary(final String[] sortedWords) {
+    size = sortedWords.length;
+    blockOffsets = new int[(size + BLOCK_SIZE - 1) / BLOCK_SIZE];
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] previous = new byte[0];
+    int maxBytes = 0;
+    for (int id = 0; id < size; id++) {
+      final byte[] bytes = sortedWords[id].getBytes(StandardCharsets.UTF_8);
+      maxBytes = Math.max(maxBytes, bytes.length);
+
+      if ((id % BLOCK_SIZE) == 0) {
+        blockOffsets[id / BLOCK_SIZE] = out.size();
+        writeVarInt(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+      } else {
+        final int prefix = sharedPrefix(previous, bytes);
+        writeVarInt(out, prefix);
+        writeVarInt(out, bytes.length - prefix);
+        out.write(bytes, prefix, bytes.length - prefix);
+      }
+      previous = bytes;
+    }
+    data = out.toByteArray();
+    maxWordBytes = maxBytes;
+
+    int capacity = Integer.highestOneBit(Math.max(1, (int) (size / LOAD_FACTOR)));
+    while ((capacity * LOAD_FACTOR) <= size) {
+      capacity <<= 1;
+    }
+    hashTable = new long[capacity];
+    for (int id = 0; id < size; id++) {
+      final int hashCode = sortedWords[id].hashCode();
+      int slot = slot(hashCode);
+      while (hashTable[slot] != 0) {
+        slot = (slot + 1) & (hashTable.length - 1);
+      }
+      hashTable[slot] = ((long) hashCode << 32) | (id + 1);
+    }
+  }
+
+  /**
+   * Creates a dictionary of the given words. Duplicates will be removed. Ids are assigned by the
+   * natural order of the words, i. e. the alphabetically smallest word will have id {@code 0}.
+   *
+   * @param words Words to create the dictionary of.
+   * @return Dictionary.
+   */
+  public static FrontCodedDictionary of(final Collection<String> words) {
+    // UTF-8 byte order equals code point order which differs from String#compareTo for
+    // supplementary characters. Ids only need to be consistent, so we sort by String order.
+    return new FrontCodedDictionary(new TreeSet<>(words).toArray(new String[0]));
+  }
+
+  /**
+   * Returns the number of words in the dictionary.
+   *
+   * @return Number of words.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the word with given id.
+   *
+   * @param id Id of the word.
+   * @return Word.
+   * @throws IndexOutOfBoundsException Thrown if {@code id} is no valid id.
+   */
+  public String get(final int id) {
+    final byte[] buffer = buffer();
+    final int length = decode(id, buffer);
+    return new String(buffer, 0, length, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Appends the word with given id to the string builder without creating a {@link String}.
+   *
+   * @param id Id of the word.
+   * @param builder Builder to append to.
+   * @return {@code builder}
+   * @throws IndexOutOfBoundsException Thrown if {@code id} is no valid id.
+   */
+  public StringBuilder appendTo(final int id, final StringBuilder builder) {
+    final byte[] buffer = buffer();
+    final int length = decode(id, buffer);
+    // decodes UTF-8 without creating intermediate arrays
+    int position = 0;
+    while (position < length) {
+      final int b = buffer[position++] & 0xFF;
+      if (b < 0x80) {
+        builder.append((char) b);
+      } else if (b < 0xE0) {
+        builder.append((char) (((b & 0x1F) << 6) | (buffer[position++] & 0x3F)));
+      } else if (b < 0xF0) {
+        builder.append((char) (((b & 0x0F) << 12) | ((buffer[position++] & 0x3F) << 6)
+            | (buffer[position++] & 0x3F)));
+      } else {
+        builder.appendCodePoint(((b & 0x07) << 18) | ((buffer[position++] & 0x3F) << 12)
+            | ((buffer[position++] & 0x3F) << 6) | (buffer[position++] & 0x3F));
+      }
+    }
+    return builder;
+  }
+
+  /**
+   * Returns the id of the given word or {@code -1} if the word is not in the dictionary.
+   *
+   * @param word Word to look up.
+   * @return Id of the word or {@code -1}.
+   */
+  public int indexOf(final String word) {
+    if ((word == null) || (size == 0)) {
+      return -1;
+    }
+
+    // a word has at least as many UTF-8 bytes as chars
+    if (word.length() > maxWordBytes) {
+      return -1;
+    }
+
+    final int hashCode = word.hashCode();
+    byte[] buffer = null;
+    for (int slot = slot(hashCode);; slot = (slot + 1) & (hashTable.length - 1)) {
+      final long entry = hashTable[slot];
+      if (entry == 0) {
+        return -1;
+      }
+      if ((int) (entry >>> 32) != hashCode) {
+        continue;
+      }
+
+      if (buffer == null) {
+        buffer = buffer();
+      }
+      final int id = (int) entry - 1;
+      if (equalsUtf8(buffer, decode(id, buffer), word)) {
+        return id;
+      }
+    }
+  }
+
+  /**
+   * Returns the buffer of the current thread, grown to at least {@link #maxWordBytes} bytes.
+   */
+  private byte[] buffer() {
+    byte[] buffer = BUFFER.get();
+    if (buffer.length < maxWordBytes) {
+      buffer = new byte[Integer.highestOneBit(maxWordBytes) << 1];
+      BUFFER.set(buffer);
+    }
+    return buffer;
+  }
+
+  /**
+   * Decodes the word with given id into the buffer.
+   *
+   * @param id Id of the word.
+   * @param buffer Buffer of at least {@link #maxWordBytes} bytes.
+   * @return Length of the decoded word in bytes.
+   */
+  private int decode(final int id, final byte[] buffer) {
+    if ((id < 0) || (id >= size)) {
+      throw new IndexOutOfBoundsException(Integer.toString(id));
+    }
+
+    int position = blockOffsets[id / BLOCK_SIZE];
+    int length = 0;
+    for (int shift = 0;; shift += 7) {
+      final byte b = data[position++];
+      length |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        break;
+      }
+    }
+    System.arraycopy(data, position, buffer, 0, length);
+    position += length;
+
+    for (int i = id % BLOCK_SIZE; i > 0; i--) {
+      int prefix = 0;
+      for (int shift = 0;; shift += 7) {
+        final byte b = data[position++];
+        prefix |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          break;
+        }
+      }
+      int suffix = 0;
+      for (int shift = 0;; shift += 7) {
+        final byte b = data[position++];
+        suffix |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          break;
+        }
+      }
+      System.arraycopy(data, position, buffer, prefix, suffix);
+      position += suffix;
+      length = prefix + suffix;
+    }
+
+    return length;
+  }
+
+  private int slot(final int hashCode) {
+    // spread the bits like HashMap does
+    final int h = hashCode * 0x9E3779B9;
+    return (h ^ (h >>> 16)) & (hashTable.length - 1);
+  }
+
+  private static void writeVarInt(final ByteArrayOutputStream out, int value) {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  private static int sharedPrefix(final byte[] a, final byte[] b) {
+    final int max = Math.min(a.length, b.length);
+    int i = 0;
+    while ((i < max) && (a[i] == b[i])) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Returns whether {@code bytes[0, length)} equal {@code word.getBytes(UTF_8)} without encoding
+   * the word into an array. Unpaired surrogates are encoded as {@code '?'} like
+   * {@link String#getBytes(java.nio.charset.Charset)} does.
+   */
+  private static boolean equalsUtf8(final byte[] bytes, final int length, final String word) {
+    int position = 0;
+    for (int i = 0; i < word.length(); i++) {
+      final char c = word.charAt(i);
+      int codePoint = c;
+      if (Character.isHighSurrogate(c) && ((i + 1) < word.length())
+          && Character.isLowSurrogate(word.charAt(i + 1))) {
+        codePoint = Character.toCodePoint(c, word.charAt(++i));
+      } else if (Character.isSurrogate(c)) {
+        codePoint = '?';
+      }
+
+      final int following =
+          codePoint < 0x80 ? 0 : (codePoint < 0x800 ? 1 : (codePoint < 0x10000 ? 2 : 3));
+      if ((position + following) >= length) {
+        return false;
+      }
+      if (bytes[position++] != (byte) (UTF8_LEAD[following] | (codePoint >>> (6 * following)))) {
+        return false;
+      }
+      for (int shift = 6 * (following - 1); shift >= 0; shift -= 6) {
+        if (bytes[position++] != (byte) (0x80 | ((codePoint >>> shift) & 0x3F))) {
+          return false;
+        }
+      }
+    }
+    return position == length;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    }
+
+    if (!(obj instanceof FrontCodedDictionary)) {
+      return false;
+    }
+
+    final FrontCodedDictionary dictionary = (FrontCodedDictionary) obj;
+    return (size == dictionary.size) && Arrays.equals(data, dictionary.data);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(data);
+  }
+}
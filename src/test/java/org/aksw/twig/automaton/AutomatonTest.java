@@ -4,10 +4,16 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.aksw.twig.Main;
 import org.aksw.twig.automaton.data.MessageCounter;
@@ -15,13 +21,18 @@ import org.aksw.twig.automaton.data.TimeCounter;
 import org.aksw.twig.automaton.data.WordMatrix;
 import org.aksw.twig.automaton.data.WordSampler;
 import org.aksw.twig.model.TWIGModelWrapper;
+import org.aksw.twig.statistics.ExponentialLikeDistribution;
 import org.aksw.twig.statistics.SamplingDiscreteDistribution;
 import org.apache.commons.io.FileUtils;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.RDFDataMgr;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class AutomatonTest {
 
@@ -49,11 +60,207 @@ public class AutomatonTest {
     Main.main(args);
   }
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
   @Test
   public void test() {
 
   }
 
+  @Test
+  public void simulateTest() throws IOException {
+    final WordMatrix wordMatrix = new WordMatrix();
+    wordMatrix.alterFrequency("", "a", 1);
+    wordMatrix.alterFrequency("a", "", 1);
+    final TimeCounter timeCounter = new TimeCounter();
+    timeCounter.addTimestamps(LocalDateTime.of(2010, 1, 1, 12, 30), 1);
+
+    final Automaton automaton = new Automaton(new WordSampler(wordMatrix),
+        new ExponentialLikeDistribution(-0.05), timeCounter.getSecondOfDayDistribution(),
+        folder.newFolder());
+    final Model model =
+        automaton.simulate(10, Duration.ofDays(30), LocalDate.of(2010, 1, 1), 1).getModel();
+
+    final LocalDateTime start = LocalDateTime.of(2010, 1, 1, 0, 0);
+    model.listStatements().forEachRemaining(statement -> {
+      if (statement.getPredicate().getLocalName()
+          .equals(TWIGModelWrapper.TWEET_TIME_PROPERTY_NAME)) {
+        final LocalDateTime time = LocalDateTime.from(TWIGModelWrapper.DATE_TIME_FORMATTER
+            .parse(statement.getObject().asLiteral().getLexicalForm()));
+        Assert.assertFalse(time.isBefore(start));
+        Assert.assertTrue(time.isBefore(start.plusDays(30)));
+        Assert.assertEquals(12, time.getHour());
+        Assert.assertEquals(30, time.getMinute());
+      } else if (statement.getPredicate().getLocalName()
+          .equals(TWIGModelWrapper.TWEET_CONTENT_PROPERTY_NAME)) {
+        Assert.assertEquals("a", statement.getObject().asLiteral().getString());
+      }
+    });
+  }
+
+  @Test
+  public void simulateParallelTest() throws IOException {
+    final WordMatrix wordMatrix = new WordMatrix();
+    wordMatrix.alterFrequency("", "a", 1);
+    wordMatrix.alterFrequency("", "b", 1);
+    wordMatrix.alterFrequency("a", "b", 1);
+    wordMatrix.alterFrequency("a", "", 1);
+    wordMatrix.alterFrequency("b", "a", 1);
+    wordMatrix.alterFrequency("b", "", 1);
+    final TimeCounter timeCounter = new TimeCounter();
+    timeCounter.addTimestamps(LocalDateTime.of(2010, 1, 1, 12, 30), 1);
+    timeCounter.addTimestamps(LocalDateTime.of(2010, 1, 1, 20, 15), 2);
+
+    final File sequentialFolder = folder.newFolder();
+    final Automaton sequential = new Automaton(new WordSampler(wordMatrix),
+        new ExponentialLikeDistribution(-0.1), timeCounter.getSecondOfDayDistribution(),
+        sequentialFolder);
+    sequential.simulate(30, Duration.ofDays(30), LocalDate.of(2010, 1, 1), 1);
+    final Model sequentialModel =
+        TWIGModelWrapper.read(sequentialFolder.listFiles()[0]).getModel();
+
+    List<File> previousFiles = null;
+    for (int threads = 1; threads <= 3; threads++) {
+      final Automaton automaton = new Automaton(new WordSampler(wordMatrix),
+          new ExponentialLikeDistribution(-0.1), timeCounter.getSecondOfDayDistribution(),
+          folder.newFolder());
+      final List<File> files = automaton.simulateParallel(30, Duration.ofDays(30),
+          LocalDate.of(2010, 1, 1), 1, threads, 4);
+      Assert.assertEquals(8, files.size());
+
+      final Model union = ModelFactory.createDefaultModel();
+      for (final File file : files) {
+        union.add(TWIGModelWrapper.read(file).getModel());
+      }
+      Assert.assertTrue(union.isIsomorphicWith(sequentialModel));
+
+      // files do not depend on the number of threads
+      if (previousFiles != null) {
+        for (int i = 0; i < files.size(); i++) {
+          Assert.assertEquals(
+              FileUtils.readFileToString(previousFiles.get(i), StandardCharsets.UTF_8),
+              FileUtils.readFileToString(files.get(i), StandardCharsets.UTF_8));
+        }
+      }
+      previousFiles = files;
+    }
+  }
+
+  @Test(expected = UncheckedIOException.class)
+  public void simulateParallelFailureTest() throws IOException {
+    final WordMatrix wordMatrix = new WordMatrix();
+    wordMatrix.alterFrequency("", "a", 1);
+    wordMatrix.alterFrequency("a", "", 1);
+    final TimeCounter timeCounter = new TimeCounter();
+    timeCounter.addTimestamps(LocalDateTime.of(2010, 1, 1, 12, 30), 1);
+
+    final File resultFolder = folder.newFolder();
+    final Automaton automaton = new Automaton(new WordSampler(wordMatrix),
+        new ExponentialLikeDistribution(-0.1), timeCounter.getSecondOfDayDistribution(),
+        resultFolder);
+    // files of all blocks cannot be written anymore
+    FileUtils.deleteDirectory(resultFolder);
+    automaton.simulateParallel(30, Duration.ofDays(30), LocalDate.of(2010, 1, 1), 1, 2, 4);
+  }
+
+  @Test
+  public void simulateStreamingTest() throws IOException {
+    final WordMatrix wordMatrix = new WordMatrix();
+    wordMatrix.alterFrequency("", "a", 1);
+    wordMatrix.alterFrequency("", "b", 1);
+    wordMatrix.alterFrequency("a", "b", 1);
+    wordMatrix.alterFrequency("a", "", 1);
+    wordMatrix.alterFrequency("b", "a", 1);
+    wordMatrix.alterFrequency("b", "", 1);
+    final TimeCounter timeCounter = new TimeCounter();
+    timeCounter.addTimestamps(LocalDateTime.of(2010, 1, 1, 12, 30), 1);
+    timeCounter.addTimestamps(LocalDateTime.of(2010, 1, 1, 20, 15), 2);
+
+    final File modelFolder = folder.newFolder();
+    final Automaton automaton = new Automaton(new WordSampler(wordMatrix),
+        new ExponentialLikeDistribution(-0.1), timeCounter.getSecondOfDayDistribution(),
+        modelFolder);
+    automaton.simulate(30, Duration.ofDays(30), LocalDate.of(2010, 1, 1), 1);
+    final Model model = TWIGModelWrapper.read(modelFolder.listFiles()[0]).getModel();
+
+    for (final String name : new String[] {"out.ttl", "out.ttl.gz", "out.nt", "out.nt.gz"}) {
+      final File file = new File(folder.getRoot(), name);
+      automaton.simulateStreaming(30, Duration.ofDays(30), LocalDate.of(2010, 1, 1), 1, file);
+      Assert.assertTrue(RDFDataMgr.loadModel(file.getPath()).isIsomorphicWith(model));
+    }
+  }
+
+  @Test
+  public void timeOrderedTest() throws IOException {
+    final WordMatrix wordMatrix = new WordMatrix();
+    wordMatrix.alterFrequency("", "a", 1);
+    wordMatrix.alterFrequency("", "b", 1);
+    wordMatrix.alterFrequency("a", "b", 1);
+    wordMatrix.alterFrequency("a", "", 1);
+    wordMatrix.alterFrequency("b", "a", 1);
+    wordMatrix.alterFrequency("b", "", 1);
+    final TimeCounter timeCounter = new TimeCounter();
+    for (int hour = 0; hour < 24; hour++) {
+      timeCounter.addTimestamps(LocalDateTime.of(2010, 1, 1, hour, 30), hour + 1);
+    }
+
+    final Automaton automaton = new Automaton(new WordSampler(wordMatrix),
+        new ExponentialLikeDistribution(-0.01), timeCounter.getSecondOfDayDistribution(),
+        folder.newFolder());
+    final long start = LocalDate.of(2010, 1, 1).toEpochDay() * TimeCounter.SECONDS_OF_DAY;
+    final long end = start + (30L * TimeCounter.SECONDS_OF_DAY);
+
+    final List<Tweet> tweets = automaton
+        .timeOrderedTweets(30, Duration.ofDays(30), LocalDate.of(2010, 1, 1), 1)
+        .collect(Collectors.toList());
+    Assert.assertTrue(tweets.size() > 1000);
+    int firstHalf = 0;
+    for (int i = 0; i < tweets.size(); i++) {
+      final long time = tweets.get(i).getTime();
+      Assert.assertTrue(time >= start);
+      Assert.assertTrue(time < end);
+      if (i > 0) {
+        Assert.assertTrue(tweets.get(i - 1).getTime() <= time);
+      }
+      if (time < ((start + end) / 2)) {
+        firstHalf++;
+      }
+    }
+    Assert.assertEquals(0.5, (double) firstHalf / tweets.size(), 0.05);
+
+    // same tweets as simulated user by user
+    final TWIGModelWrapper byUser = new TWIGModelWrapper();
+    automaton.simulate(30, Duration.ofDays(30), LocalDate.of(2010, 1, 1), 1, byUser);
+    final TWIGModelWrapper byTime = new TWIGModelWrapper();
+    automaton.simulateTimeOrdered(30, Duration.ofDays(30), LocalDate.of(2010, 1, 1), 1, byTime);
+    Assert.assertTrue(byTime.getModel().isIsomorphicWith(byUser.getModel()));
+    Assert.assertEquals(tweets.size(),
+        byTime.getModel().listSubjectsWithProperty(byTime.getModel()
+            .createProperty("http://aksw.org/twig#", TWIGModelWrapper.TWEET_CONTENT_PROPERTY_NAME))
+            .toList().size());
+
+    // same tweets in the same order regardless of the time windows
+    for (final int windowDays : new int[] {2, 7, 30, 31}) {
+      final Iterator<Tweet> windowed = automaton.timeOrderedIterator(30, Duration.ofDays(30),
+          LocalDate.of(2010, 1, 1), 1, windowDays);
+      for (final Tweet tweet : tweets) {
+        final Tweet other = windowed.next();
+        Assert.assertEquals(tweet.getTime(), other.getTime());
+        Assert.assertEquals(tweet.getAccountName(), other.getAccountName());
+        Assert.assertEquals(tweet.getContent(), other.getContent());
+      }
+      Assert.assertFalse(windowed.hasNext());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void timeWindowTest() throws IOException {
+    new Automaton(new WordSampler(new WordMatrix()), new ExponentialLikeDistribution(-0.1),
+        new TimeCounter().getSecondOfDayDistribution(), folder.newFolder())
+            .timeOrderedIterator(1, Duration.ofDays(1), LocalDate.of(2010, 1, 1), 1, 0);
+  }
+
   // @Test
   public void tmpTest() {
 
@@ -0,0 +1,65 @@
+package org.aksw.twig.automaton;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import org.aksw.twig.automaton.data.MappedWordMatrix;
+import org.aksw.twig.automaton.data.TimeCounter;
+import org.aksw.twig.automaton.data.WordMatrix;
+import org.aksw.twig.statistics.ExponentialLikeDistribution;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ModelSnapshotTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void snapshotTest() throws IOException {
+    final WordMatrix wordMatrix = new WordMatrix();
+    wordMatrix.alterFrequency("", "a", 1);
+    wordMatrix.alterFrequency("a", "b", 1);
+    wordMatrix.alterFrequency("b", "", 1);
+
+    final TimeCounter timeCounter = new TimeCounter();
+    timeCounter.addTimestamps(LocalDateTime.of(2009, 10, 1, 13, 37), 3);
+    timeCounter.addTimestamps(LocalDateTime.of(2009, 10, 1, 0, 0), 1);
+
+    final File file = folder.newFile();
+    ModelSnapshot.write(wordMatrix, new ExponentialLikeDistribution(-0.5), timeCounter, file);
+    Assert.assertTrue(ModelSnapshot.isModelSnapshot(file));
+    Assert.assertFalse(ModelSnapshot.isModelSnapshot(folder.newFile()));
+
+    try (ModelSnapshot snapshot = ModelSnapshot.open(file)) {
+      Assert.assertEquals(-0.5, snapshot.getTweetNumberDistribution().getLambda(), 0);
+      Assert.assertEquals("a b", snapshot.getWordSampler().sample());
+
+      final Random r = new Random(1);
+      int afternoon = 0;
+      for (int i = 0; i < 10000; i++) {
+        final int second = snapshot.getTweetTimeDistribution().sampleInt(r);
+        if (second >= (13 * 3600 + 37 * 60)) {
+          Assert.assertTrue(second < (13 * 3600 + 38 * 60));
+          afternoon++;
+        } else {
+          Assert.assertTrue(second < 60);
+        }
+      }
+      Assert.assertEquals(0.75, afternoon / 10000d, 0.02);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void noSnapshotTest() throws IOException {
+    final File file = folder.newFile();
+    final WordMatrix wordMatrix = new WordMatrix();
+    wordMatrix.alterFrequency("", "", 1);
+    MappedWordMatrix.write(wordMatrix, file);
+    ModelSnapshot.open(file);
+  }
+}
@@ -0,0 +1,60 @@
+package org.aksw.twig.automaton;
+
+import org.aksw.twig.statistics.SamplingDiscreteIntDistribution;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Compares sampling distinct tweet times of heavy users within one day by
+ * {@link TweetTimesTest#sampleBySorting(SamplingDiscreteIntDistribution, long, int, int)} and by
+ * rejecting each time found in a {@code HashSet<Long>}. Results are logged only since they depend
+ * on the machine. The benchmark runs only if the system property {@code twig.benchmark} is
+ * {@code true}, e. g. by {@code mvn test -Dtwig.benchmark=true}.
+ */
+public class TweetTimeBenchmarkTest {
+
+  private static final Logger LOGGER = LogManager.getLogger(TweetTimeBenchmarkTest.class);
+
+  /**
+   * Number of tweet times sampled per benchmark.
+   */
+  private static final int TIMES = 1 << 21;
+
+  @Before
+  public void benchmarkEnabled() {
+    Assume.assumeTrue(Boolean.getBoolean("twig.benchmark"));
+  }
+
+  @Test
+  public void heavyUserBenchmark() {
+    final SamplingDiscreteIntDistribution distribution = TweetTimesTest.distribution();
+    for (final int count : new int[] {100, 1000, 20000, 60000}) {
+      final int rounds = TIMES / count;
+      // warm up, the checksum keeps the results in use
+      long checksum = 0;
+      for (int i = 0; i < rounds; i++) {
+        checksum += TweetTimesTest.sampleByHashSet(distribution, i, 1, count)[count - 1];
+        checksum += TweetTimesTest.sampleBySorting(distribution, i, 1, count)[count - 1];
+      }
+
+      long start = System.nanoTime();
+      for (int i = 0; i < rounds; i++) {
+        checksum += TweetTimesTest.sampleByHashSet(distribution, i, 1, count)[count - 1];
+      }
+      final double hashSetNanos = (double) (System.nanoTime() - start) / ((long) rounds * count);
+
+      start = System.nanoTime();
+      for (int i = 0; i < rounds; i++) {
+        checksum += TweetTimesTest.sampleBySorting(distribution, i, 1, count)[count - 1];
+      }
+      final double sortingNanos = (double) (System.nanoTime() - start) / ((long) rounds * count);
+
+      LOGGER.info("{} tweets per day: HashSet<Long> {} ns, sorted long[] {} ns per tweet time",
+          count, Math.round(hashSetNanos), Math.round(sortingNanos));
+      LOGGER.debug("Checksum {}", checksum);
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package org.aksw.twig.automaton;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.aksw.twig.automaton.data.TimeCounter;
+import org.aksw.twig.statistics.SamplingDiscreteIntDistribution;
+import org.aksw.twig.statistics.Xoroshiro128PlusRandom;
+import org.apache.commons.math3.stat.inference.ChiSquareTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link Automaton#sampleDistinctTimes(SamplingDiscreteIntDistribution, java.util.Random,
+ * long, int, int)} against rejecting each time found in a {@code HashSet<Long>}. Both sample the
+ * seconds and days in a different order, so their times are compared by distribution.
+ */
+public class TweetTimesTest {
+
+  static final long START_SECOND = 1262304000L;
+
+  /**
+   * Creates a distribution of all seconds of the day with more weight at night.
+   */
+  static SamplingDiscreteIntDistribution distribution() {
+    final TimeCounter timeCounter = new TimeCounter();
+    for (int hour = 0; hour < 24; hour++) {
+      for (int minute = 0; minute < 60; minute++) {
+        timeCounter.addTimestamps(LocalDateTime.of(2010, 1, 1, hour, minute),
+            1 + Math.abs(12 - hour));
+      }
+    }
+    return timeCounter.getSecondOfDayDistribution();
+  }
+
+  /**
+   * Creates a distribution of the 60 seconds of {@code 12:00} o'clock.
+   */
+  static SamplingDiscreteIntDistribution narrowDistribution() {
+    final TimeCounter timeCounter = new TimeCounter();
+    timeCounter.addTimestamps(LocalDateTime.of(2010, 1, 1, 12, 0), 1);
+    return timeCounter.getSecondOfDayDistribution();
+  }
+
+  static long[] sampleByHashSet(final SamplingDiscreteIntDistribution distribution,
+      final long seed, final int days, final int count) {
+    final Xoroshiro128PlusRandom r = new Xoroshiro128PlusRandom(seed);
+    final Set<Long> timeStamps = new HashSet<>();
+    final long[] times = new long[count];
+    for (int i = 0; i < count; i++) {
+      long tweetTime;
+      do {
+        tweetTime = START_SECOND + ((long) r.nextInt(days) * TimeCounter.SECONDS_OF_DAY)
+            + distribution.sampleInt(r);
+      } while (!timeStamps.add(tweetTime));
+      times[i] = tweetTime;
+    }
+    Arrays.sort(times);
+    return times;
+  }
+
+  static long[] sampleBySorting(final SamplingDiscreteIntDistribution distribution,
+      final long seed, final int days, final int count) {
+    return Automaton.sampleDistinctTimes(distribution, new Xoroshiro128PlusRandom(seed),
+        START_SECOND, days, count);
+  }
+
+  /**
+   * Counts the days and the hours of {@code times} of 30 days of {@link #distribution()} or the
+   * days and the seconds of the minute of 3 days of {@link #narrowDistribution()}.
+   */
+  private static long[] histogram(final boolean narrow, final int count, final boolean bySorting) {
+    final SamplingDiscreteIntDistribution distribution =
+        narrow ? narrowDistribution() : distribution();
+    final int days = narrow ? 3 : 30;
+    final int secondsPerBin = narrow ? 1 : 3600;
+    final int bins = narrow ? 60 : 24;
+    final long[] histogram = new long[days + bins];
+    for (int seed = 0; seed < 100; seed++) {
+      final long[] times = bySorting ? sampleBySorting(distribution, seed, days, count)
+          : sampleByHashSet(distribution, seed, days, count);
+      for (final long time : times) {
+        final long second = time - START_SECOND;
+        histogram[(int) (second / TimeCounter.SECONDS_OF_DAY)]++;
+        histogram[days + (int) (((second % TimeCounter.SECONDS_OF_DAY) / secondsPerBin) % bins)]++;
+      }
+    }
+    return histogram;
+  }
+
+  @Test
+  public void sameDistributionTest() {
+    for (final int count : new int[] {0, 1, 2, 100}) {
+      Assert.assertEquals(count, sampleBySorting(distribution(), count, 1, count).length);
+    }
+    Assert.assertFalse(new ChiSquareTest().chiSquareTestDataSetsComparison(
+        histogram(false, 2000, false), histogram(false, 2000, true), 0.001));
+    Assert.assertFalse(new ChiSquareTest().chiSquareTestDataSetsComparison(
+        histogram(true, 150, false), histogram(true, 150, true), 0.001));
+  }
+
+  @Test
+  public void narrowSupportTest() {
+    final SamplingDiscreteIntDistribution distribution = narrowDistribution();
+    final int days = 3;
+    final int noon = 12 * 3600;
+    // more tweets than seconds of the support within one day
+    for (final int count : new int[] {59, 150, 180}) {
+      final long[] times = sampleBySorting(distribution, count, days, count);
+      Assert.assertEquals(count, times.length);
+
+      for (int i = 0; i < count; i++) {
+        if (i > 0) {
+          Assert.assertTrue(times[i - 1] < times[i]);
+        }
+        final long second = (times[i] - START_SECOND) % TimeCounter.SECONDS_OF_DAY;
+        Assert.assertTrue((second >= noon) && (second < (noon + 60)));
+        Assert.assertTrue((times[i] - START_SECOND) < ((long) days * TimeCounter.SECONDS_OF_DAY));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void exceedingSupportTest() {
+    // 3 days of 60 seconds
+    sampleBySorting(narrowDistribution(), 0, 3, 181);
+  }
+}
@@ -31,4 +31,12 @@ public class UserTest {
     Assert.assertEquals(new BigInteger(user1.getName()).add(BigInteger.ONE),
         new BigInteger(user2.getName()));
   }
+
+  @Test
+  public void ofIndexTest() {
+    Assert.assertEquals(BigInteger.ZERO, new BigInteger(User.ofIndex(0).getName()));
+    Assert.assertEquals(BigInteger.valueOf(123456789012L),
+        new BigInteger(User.ofIndex(123456789012L).getName()));
+    Assert.assertEquals(User.NAME_LENGTH, User.ofIndex(1).getName().length);
+  }
 }
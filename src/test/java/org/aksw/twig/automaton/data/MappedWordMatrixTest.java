@@ -0,0 +1,77 @@
+package org.aksw.twig.automaton.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedWordMatrixTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private MappedWordMatrix write(final WordMatrix matrix) throws IOException {
+    final File file = folder.newFile();
+    MappedWordMatrix.write(matrix, file);
+    Assert.assertTrue(MappedWordMatrix.isMappedWordMatrix(file));
+    return MappedWordMatrix.open(file);
+  }
+
+  @Test
+  public void vocabularyTest() throws IOException {
+    final WordMatrix matrix = new WordMatrix();
+    matrix.alterFrequency("", "über", 1);
+    matrix.alterFrequency("über", "😀", 1);
+    matrix.alterFrequency("😀", "b", 1);
+    matrix.alterFrequency("b", "", 1);
+
+    try (MappedWordMatrix mapped = write(matrix)) {
+      Assert.assertEquals(matrix.getVocabularySize(), mapped.getVocabularySize());
+      for (int id = 0; id < matrix.getVocabularySize(); id++) {
+        final String word = matrix.getWord(id);
+        Assert.assertEquals(word, mapped.getWord(mapped.getId(word)));
+      }
+      Assert.assertEquals(-1, mapped.getId("a"));
+      Assert.assertEquals("über 😀 b", mapped.sample());
+    }
+  }
+
+  @Test
+  public void distributionTest() throws IOException {
+    final WordMatrix matrix = new WordMatrix();
+    matrix.alterFrequency("a", "a", 1);
+    matrix.alterFrequency("a", "b", 3);
+
+    try (MappedWordMatrix mapped = write(matrix)) {
+      Assert.assertEquals("", mapped.getSuccessorDistribution("c").sample());
+
+      final Random r = new Random(1);
+      int a = 0;
+      for (int i = 0; i < 10000; i++) {
+        if (mapped.getSuccessorDistribution("a").sample(r).equals("a")) {
+          a++;
+        }
+      }
+      Assert.assertEquals(0.25, a / 10000d, 0.02);
+    }
+  }
+
+  @Test
+  public void tweetLengthTest() throws IOException {
+    final WordMatrix matrix = new WordMatrix();
+    matrix.alterFrequency("a", "a", 10);
+    matrix.alterFrequency("a", "", 1);
+    matrix.alterFrequency("", "a", 1);
+
+    try (MappedWordMatrix mapped = write(matrix)) {
+      final Random r = new Random(1);
+      for (int i = 0; i < 100; i++) {
+        Assert.assertTrue(140 >= mapped.sample(r).length());
+      }
+    }
+  }
+}
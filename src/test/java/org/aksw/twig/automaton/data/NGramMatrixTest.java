@@ -0,0 +1,108 @@
+package org.aksw.twig.automaton.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NGramMatrixTest {
+
+  @Test
+  public void frequencyTest() {
+    final NGramMatrix matrix = new NGramMatrix(2);
+    matrix.addTweet("a b c. a b d. x b c");
+
+    Assert.assertEquals(2, matrix.getFrequency(Arrays.asList("", ""), "a"));
+    Assert.assertEquals(1, matrix.getFrequency(Arrays.asList("a", "b"), "c"));
+    Assert.assertEquals(1, matrix.getFrequency(Arrays.asList("a", "b"), "d"));
+    Assert.assertEquals(1, matrix.getFrequency(Arrays.asList("x", "b"), "c"));
+    Assert.assertEquals(0, matrix.getFrequency(Arrays.asList("x", "b"), "d"));
+    Assert.assertEquals(1, matrix.getFrequency(Arrays.asList("b", "d"), ""));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void contextLengthTest() {
+    new NGramMatrix(2).alterFrequency(Arrays.asList("a"), "b", 1);
+  }
+
+  @Test
+  public void mergeTest() throws IOException, ClassNotFoundException {
+    final NGramMatrix matrix = new NGramMatrix(2);
+    final NGramMatrix other = new NGramMatrix(2);
+    // grow beyond the initial capacity
+    for (int i = 0; i < 2000; i++) {
+      matrix.alterFrequency(Arrays.asList("a", Integer.toString(i)), "b", 1);
+      other.alterFrequency(Arrays.asList("a", Integer.toString(i)), "c", 2);
+    }
+    other.alterFrequency(Arrays.asList("a", "0"), "b", 3);
+    matrix.merge(other);
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(matrix);
+    }
+    final NGramMatrix read;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      read = (NGramMatrix) in.readObject();
+    }
+
+    Assert.assertEquals(4000, read.size());
+    Assert.assertEquals(4, read.getFrequency(Arrays.asList("a", "0"), "b"));
+    Assert.assertEquals(1, read.getFrequency(Arrays.asList("a", "1999"), "b"));
+    Assert.assertEquals(2, read.getFrequency(Arrays.asList("a", "1999"), "c"));
+  }
+
+  @Test
+  public void samplerTest() {
+    final NGramMatrix matrix = new NGramMatrix(2);
+    for (int i = 0; i < 3; i++) {
+      matrix.addTweet("a b c. x b d");
+    }
+    matrix.addTweet("a b d");
+
+    final NGramSampler sampler = new NGramSampler(matrix, 2);
+    // "a b d" has been pruned, so only the seen trigrams remain
+    final Set<String> tweets = new HashSet<>();
+    final Random r = new Random(1);
+    for (int i = 0; i < 100; i++) {
+      tweets.add(sampler.sample(r));
+    }
+    Assert.assertEquals(new HashSet<>(Arrays.asList("a b c", "x b d")), tweets);
+
+    int a = 0;
+    for (int i = 0; i < 10000; i++) {
+      if (sampler.getSuccessorDistribution("").sample(r).equals("a")) {
+        a++;
+      }
+    }
+    Assert.assertEquals(4 / 7d, a / 10000d, 0.02);
+    Assert.assertEquals("", sampler.getSuccessorDistribution("y").sample(r));
+  }
+
+  @Test
+  public void firstOrderTest() {
+    final WordMatrix wordMatrix = new WordMatrix();
+    final NGramMatrix matrix = new NGramMatrix(1);
+    final String tweet = "a b a c. b c";
+    wordMatrix.putAll(new TweetSplitter(tweet));
+    matrix.addTweet(tweet);
+
+    for (String predecessor : Arrays.asList("", "a", "b", "c")) {
+      for (String successor : Arrays.asList("", "a", "b", "c")) {
+        Assert.assertEquals(
+            (long) wordMatrix.matrix.get(wordMatrix.getId(predecessor)).getRight()
+                .getOrDefault(wordMatrix.getId(successor), 0L),
+            matrix.getFrequency(Arrays.asList(predecessor), successor));
+      }
+    }
+  }
+}
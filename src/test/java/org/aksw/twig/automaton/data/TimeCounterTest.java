@@ -1,9 +1,14 @@
 package org.aksw.twig.automaton.data;
 
+import org.aksw.twig.statistics.SamplingDiscreteDistributionType;
+import org.aksw.twig.statistics.SamplingDiscreteIntDistribution;
+import org.apache.commons.math3.stat.inference.ChiSquareTest;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
 
 public class TimeCounterTest {
 
@@ -20,4 +25,81 @@ public class TimeCounterTest {
         Assert.assertEquals(3, counter.getTimesCountAt(testTime.getHour(), testTime.getMinute()));
         Assert.assertEquals(3, counter.getTimesCountAt(testTimePlusOneMinute.getHour(), testTimePlusOneMinute.getMinute()));
     }
+
+    @Test
+    public void minuteOfDayTest() {
+        TimeCounter counter = new TimeCounter();
+        counter.addTimestamps(LocalDateTime.of(1995, 2, 12, 12, 30, 0), 1);
+        counter.addTimestamps(LocalDateTime.of(1995, 2, 12, 23, 59, 0), 1);
+
+        int[] minutes = new int[1000];
+        counter.getMinuteOfDayDistribution().sample(minutes.length, new Random(1), minutes);
+        for (int minute : minutes) {
+            Assert.assertTrue(minute == ((12 * 60) + 30) || minute == (TimeCounter.MINUTES_OF_DAY - 1));
+        }
+    }
+
+    @Test
+    public void secondOfDayTest() {
+        TimeCounter counter = new TimeCounter();
+        counter.addTimestamps(LocalDateTime.of(1995, 2, 12, 12, 30, 0), 1);
+
+        Random r = new Random(1);
+        boolean[] seconds = new boolean[60];
+        for (int i = 0; i < 10000; i++) {
+            int second = counter.getSecondOfDayDistribution().sampleInt(r);
+            Assert.assertEquals((12 * 60) + 30, second / 60);
+            seconds[second % 60] = true;
+        }
+        for (boolean second : seconds) {
+            Assert.assertTrue(second);
+        }
+
+        long[] bulkSeconds = new long[10000];
+        counter.getSecondOfDayDistribution().sample(bulkSeconds.length, r, bulkSeconds);
+        seconds = new boolean[60];
+        for (long second : bulkSeconds) {
+            Assert.assertEquals((12 * 60) + 30, second / 60);
+            seconds[(int) (second % 60)] = true;
+        }
+        for (boolean second : seconds) {
+            Assert.assertTrue(second);
+        }
+        Assert.assertNull(new TimeCounter().getSecondOfDayDistribution().sample());
+    }
+
+    @Test
+    public void secondOfDayTypeTest() {
+        TimeCounter counter = new TimeCounter();
+        counter.addTimestamps(LocalDateTime.of(1995, 2, 12, 6, 0, 0), 1);
+        counter.addTimestamps(LocalDateTime.of(1995, 2, 12, 12, 30, 0), 3);
+        counter.addTimestamps(LocalDateTime.of(1995, 2, 12, 23, 59, 0), 6);
+        long[] frequencies = counter.getMinuteOfDayFrequencies();
+        int[] minutes = new int[] {6 * 60, (12 * 60) + 30, TimeCounter.MINUTES_OF_DAY - 1};
+
+        for (SamplingDiscreteDistributionType type : SamplingDiscreteDistributionType.values()) {
+            SamplingDiscreteIntDistribution distribution =
+                    TimeCounter.getSecondOfDayDistribution(frequencies, type);
+            Assert.assertEquals(3 * 60, distribution.getSupportSize());
+
+            long[] seconds = new long[100000];
+            distribution.sample(seconds.length, new Random(1), seconds);
+            long[] observed = new long[minutes.length];
+            for (long second : seconds) {
+                int index = Arrays.binarySearch(minutes, (int) (second / 60));
+                Assert.assertTrue(index >= 0);
+                observed[index]++;
+            }
+
+            // chi-square test over the minutes with a count greater than 0
+            double[] expected = new double[minutes.length];
+            for (int i = 0; i < minutes.length; i++) {
+                expected[i] = (frequencies[minutes[i]] / 10d) * seconds.length;
+            }
+            Assert.assertFalse(type.toString(),
+                    new ChiSquareTest().chiSquareTest(expected, observed, 0.001));
+            Assert.assertNull(TimeCounter.getSecondOfDayDistribution(
+                    new long[TimeCounter.MINUTES_OF_DAY], type).sample());
+        }
+    }
 }
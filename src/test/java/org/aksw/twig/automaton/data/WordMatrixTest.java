@@ -5,6 +5,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang3.tuple.Pair;
@@ -56,6 +60,97 @@ public class WordMatrixTest {
     Assert.assertTrue(matrix.getPredecessors().isEmpty());
   }
 
+  @Test
+  public void compactIndexTest() {
+    final WordMatrix matrix = new WordMatrix();
+    matrix.alterFrequency("b", "a", 1);
+    matrix.alterFrequency("b", "b", 1);
+    matrix.compactIndex();
+
+    Assert.assertEquals(2, matrix.getVocabularySize());
+    Assert.assertEquals(0, matrix.getId("a"));
+    Assert.assertEquals(1, matrix.getId("b"));
+    Assert.assertEquals("a", matrix.getWord(0));
+    Assert.assertEquals(-1, matrix.getId("c"));
+    Assert.assertEquals(0.5, matrix.getChance("b", "a"), 0.0);
+
+    // words added after compaction go to the index again
+    matrix.alterFrequency("c", "a", 1);
+    Assert.assertEquals(2, matrix.getId("c"));
+    Assert.assertEquals("c", matrix.getWord(2));
+    Assert.assertEquals(1.0, matrix.getChance("c", "a"), 0.0);
+    // words of the dictionary and of the index are appended alike
+    Assert.assertEquals("b c",
+        matrix.appendWord(2, matrix.appendWord(1, new StringBuilder()).append(' ')).toString());
+
+    matrix.compactIndex();
+    Assert.assertEquals(2, matrix.getId("c"));
+    Assert.assertEquals(1.0, matrix.getChance("c", "a"), 0.0);
+
+    // compacting again keeps ids and chances
+    matrix.compactIndex();
+    Assert.assertEquals(3, matrix.getVocabularySize());
+    Assert.assertEquals(2, matrix.getId("c"));
+    Assert.assertEquals("c", matrix.getWord(2));
+    Assert.assertEquals(0.5, matrix.getChance("b", "a"), 0.0);
+
+    final WordMatrix merged = new WordMatrix();
+    merged.merge(matrix);
+    Assert.assertEquals(0.5, merged.getChance("b", "b"), 0.0);
+  }
+
+  @Test
+  public void visitSuccessorsTest() {
+    final WordMatrix matrix = new WordMatrix();
+    matrix.alterFrequency("a", "a", 1);
+    matrix.alterFrequency("a", "b", 3);
+
+    final List<Integer> predecessors = new ArrayList<>();
+    matrix.forEachPredecessor(predecessors::add);
+    Assert.assertEquals(Collections.singletonList(matrix.getId("a")), predecessors);
+    Assert.assertEquals(2, matrix.getSuccessorCount(matrix.getId("a")));
+    Assert.assertEquals(0, matrix.getSuccessorCount(matrix.getId("b")));
+
+    final Map<Integer, Long> visited = new HashMap<>();
+    final long total = matrix.forEachSuccessor(matrix.getId("a"), visited::put);
+    Assert.assertEquals(4, total);
+    Assert.assertEquals(Long.valueOf(1), visited.get(matrix.getId("a")));
+    Assert.assertEquals(Long.valueOf(3), visited.get(matrix.getId("b")));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void visitMissingPredecessorTest() {
+    final WordMatrix matrix = new WordMatrix();
+    matrix.alterFrequency("a", "b", 1);
+    matrix.forEachSuccessor(matrix.getId("b"), (successorId, count) -> {
+    });
+  }
+
+  @Test
+  public void chanceHistogramTest() {
+    final WordMatrix matrix = new WordMatrix();
+    matrix.alterFrequency("a", "a", 1);
+    matrix.alterFrequency("a", "b", 3);
+    matrix.alterFrequency("b", "a", 1);
+
+    final ChanceHistogram histogram = matrix.getChanceHistogram();
+    final double[] bounds = histogram.getBounds();
+    Assert.assertEquals(0.5, bounds[0], 0.0);
+    Assert.assertEquals(0.1, bounds[1], 0.0);
+    Assert.assertEquals(2, histogram.getPredecessorCount());
+    // only "a" -> "a" with a chance of 0.25 is in bounds
+    Assert.assertEquals(0.25, histogram.getAverageShare(0), 0.0);
+    Assert.assertEquals(1, histogram.getTransitionCount(0));
+    Assert.assertEquals(0.0, histogram.getAverageShare(1), 0.0);
+    Assert.assertEquals(0, histogram.getTransitionCount(1));
+
+    final ChanceHistogram merged = new ChanceHistogram(bounds);
+    merged.merge(histogram);
+    merged.merge(histogram);
+    Assert.assertEquals(4, merged.getPredecessorCount());
+    Assert.assertEquals(0.25, merged.getAverageShare(0), 0.0);
+  }
+
   private void prepareMatrix(final WordMatrix matrix) {
     matrix.alterFrequency("a", "a", 1);
     matrix.alterFrequency("a", "b", 1);
@@ -66,10 +161,10 @@ public class WordMatrixTest {
     Assert.assertEquals(0.5, matrix.getChance("a", "b"), 0.0);
 
     final Map<Integer, Double> mappings = matrix.getMappings("a");
-    Assert.assertTrue(mappings.containsKey(matrix.indexReverse.get("a")));
-    Assert.assertEquals(0.5, mappings.get(matrix.indexReverse.get("a")), 0.0);
-    Assert.assertTrue(mappings.containsKey(matrix.indexReverse.get("b")));
-    Assert.assertEquals(0.5, mappings.get(matrix.indexReverse.get("b")), 0.0);
+    Assert.assertTrue(mappings.containsKey(matrix.getId("a")));
+    Assert.assertEquals(0.5, mappings.get(matrix.getId("a")), 0.0);
+    Assert.assertTrue(mappings.containsKey(matrix.getId("b")));
+    Assert.assertEquals(0.5, mappings.get(matrix.getId("b")), 0.0);
 
     matrix.matrix.entrySet().forEach(entry -> {
       final Pair<Long, Map<Integer, Long>> value = entry.getValue();
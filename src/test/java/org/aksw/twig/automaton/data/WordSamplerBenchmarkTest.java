@@ -0,0 +1,65 @@
+package org.aksw.twig.automaton.data;
+
+import java.util.Random;
+
+import org.aksw.twig.statistics.SamplingDiscreteDistributionType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Measures how many tweets per second {@link WordSampler#sample(Random)} assembles on a synthetic
+ * matrix. Results are logged only since they depend on the machine. The benchmark runs only if
+ * the system property {@code twig.benchmark} is {@code true}, e. g. by
+ * {@code mvn test -Dtwig.benchmark=true}.
+ */
+public class WordSamplerBenchmarkTest {
+
+  private static final Logger LOGGER = LogManager.getLogger(WordSamplerBenchmarkTest.class);
+
+  private static final int WORDS = 5000;
+
+  private static final int SUCCESSORS = 20;
+
+  private static final int TWEETS = 200000;
+
+  @Before
+  public void benchmarkEnabled() {
+    Assume.assumeTrue(Boolean.getBoolean("twig.benchmark"));
+  }
+
+  @Test
+  public void sampleBenchmark() {
+    final Random random = new Random(1);
+    final WordMatrix matrix = new WordMatrix();
+    for (int i = 0; i < WORDS; i++) {
+      matrix.alterFrequency("", "word" + i, 1);
+      matrix.alterFrequency("word" + i, "", 1);
+      for (int j = 0; j < SUCCESSORS; j++) {
+        matrix.alterFrequency("word" + i, "word" + random.nextInt(WORDS), 1 + random.nextInt(5));
+      }
+    }
+    matrix.compactIndex();
+    final WordSampler sampler = new WordSampler(matrix, SamplingDiscreteDistributionType.TREE);
+
+    // warm up
+    final Random r = new Random(1);
+    for (int i = 0; i < (TWEETS / 10); i++) {
+      sampler.sample(r);
+    }
+
+    long characters = 0;
+    final long start = System.nanoTime();
+    for (int i = 0; i < TWEETS; i++) {
+      characters += sampler.sample(r).length();
+    }
+    final double seconds = (System.nanoTime() - start) / 1e9;
+
+    LOGGER.info("Sampled {} tweets with {} characters on average: {} tweets per second", TWEETS,
+        characters / TWEETS, Math.round(TWEETS / seconds));
+    Assert.assertTrue(characters > 0);
+  }
+}
@@ -5,6 +5,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
 
+import org.aksw.twig.statistics.SamplingDiscreteDistributionType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.Assert;
@@ -58,6 +59,51 @@ public class WordSamplerTest {
     Assert.assertTrue(140 >= tweet.length());
   }
 
+  @Test
+  public void lazyTest() {
+    final WordMatrix matrix = new WordMatrix();
+    matrix.alterFrequency("", "a", 1);
+    matrix.alterFrequency("", "b", 2);
+    matrix.alterFrequency("a", "b", 1);
+    matrix.alterFrequency("a", "", 1);
+    matrix.alterFrequency("b", "a", 3);
+    matrix.alterFrequency("b", "", 1);
+    matrix.compactIndex();
+
+    final WordSampler eager = new WordSampler(matrix, SamplingDiscreteDistributionType.TREE);
+    final WordSampler lazy =
+        new WordSampler(matrix, SamplingDiscreteDistributionType.TREE, true, 1);
+    Assert.assertFalse(eager.isLazy());
+    Assert.assertTrue(lazy.isLazy());
+    lazy.prewarm();
+
+    final Random eagerRandom = new Random(1);
+    final Random lazyRandom = new Random(1);
+    for (int i = 0; i < 1000; i++) {
+      Assert.assertEquals(eager.sample(eagerRandom), lazy.sample(lazyRandom));
+    }
+    Assert.assertEquals("", lazy.getSuccessorDistribution("c").sample());
+  }
+
+  @Test
+  public void parallelTest() {
+    final WordMatrix matrix = new WordMatrix();
+    for (int i = 0; i < 1000; i++) {
+      for (int j = 0; j < 10; j++) {
+        matrix.alterFrequency(Integer.toString(i), Integer.toString((i + j) % 1000), j + 1);
+      }
+    }
+    matrix.compactIndex();
+
+    final WordSampler sampler = new WordSampler(matrix, SamplingDiscreteDistributionType.TREE);
+    final WordSampler other = new WordSampler(matrix, SamplingDiscreteDistributionType.TREE);
+    for (int i = 0; i < 1000; i++) {
+      final String predecessor = Integer.toString(i);
+      Assert.assertEquals(sampler.getSuccessorDistribution(predecessor).sample(new Random(i)),
+          other.getSuccessorDistribution(predecessor).sample(new Random(i)));
+    }
+  }
+
   private class TestRandom extends Random {
 
     @Override
@@ -0,0 +1,46 @@
+package org.aksw.twig.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFFormat;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TWIGStreamWriterTest {
+
+  private static void addTweets(final TweetWriter writer) {
+    writer.addTweetNoAnonymization("a", "hello @b", 1262349000L, Collections.singleton("b"), 1);
+    writer.addTweetNoAnonymization("a", "hello", 1262349060L, Collections.emptyList(), 1);
+    writer.addTweetNoAnonymization("b", "@a @c \"quoted\"", 1262349000L, Arrays.asList("a", "c"),
+        1);
+  }
+
+  @Test
+  public void streamTest() throws IOException {
+    final TWIGModelWrapper wrapper = new TWIGModelWrapper();
+    addTweets(wrapper);
+
+    for (final RDFFormat format : new RDFFormat[] {RDFFormat.TURTLE_BLOCKS, RDFFormat.NTRIPLES}) {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (TWIGStreamWriter writer = new TWIGStreamWriter(out, format)) {
+        addTweets(writer);
+      }
+
+      final Model model = ModelFactory.createDefaultModel();
+      RDFDataMgr.read(model, new ByteArrayInputStream(out.toByteArray()), format.getLang());
+      Assert.assertTrue(model.isIsomorphicWith(wrapper.getModel()));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void noStreamingFormatTest() {
+    new TWIGStreamWriter(new ByteArrayOutputStream(), RDFFormat.RDFXML_PRETTY);
+  }
+}
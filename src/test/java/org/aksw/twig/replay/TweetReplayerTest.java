@@ -0,0 +1,203 @@
+package org.aksw.twig.replay;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.aksw.twig.automaton.Automaton;
+import org.aksw.twig.automaton.ModelSnapshot;
+import org.aksw.twig.automaton.Tweet;
+import org.aksw.twig.automaton.data.TimeCounter;
+import org.aksw.twig.automaton.data.WordMatrix;
+import org.aksw.twig.model.TWIGModelWrapper;
+import org.aksw.twig.statistics.ExponentialLikeDistribution;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TweetReplayerTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static List<Tweet> tweets(final int count) {
+    final List<Tweet> tweets = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      tweets.add(new Tweet(Integer.toString(i % 3), "tweet " + i, 1262349000L + i));
+    }
+    return tweets;
+  }
+
+  private static List<JSONObject> readLines(final BufferedReader reader) throws IOException {
+    final List<JSONObject> lines = new ArrayList<>();
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lines.add(new JSONObject(line));
+    }
+    return lines;
+  }
+
+  private static void assertTweets(final List<Tweet> expected, final List<JSONObject> actual) {
+    Assert.assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      Assert.assertEquals(expected.get(i).getAccountName(), actual.get(i).getString("account"));
+      Assert.assertEquals(expected.get(i).getContent(), actual.get(i).getString("content"));
+      Assert.assertEquals(expected.get(i).getTime(), actual.get(i).getLong("time"));
+    }
+  }
+
+  @Test
+  public void acceleratedTest() throws IOException, InterruptedException {
+    final List<Tweet> tweets = tweets(11);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final ReplayStatistics statistics;
+    try (TweetSink sink = new JsonLineTweetSink(out)) {
+      // 10 simulated seconds in 100 ms
+      statistics = TweetReplayer.accelerated(100).replay(tweets.iterator(), sink);
+    }
+
+    Assert.assertEquals(11, statistics.getTweetCount());
+    Assert.assertTrue(statistics.getElapsedNanos() >= TimeUnit.MILLISECONDS.toNanos(100));
+    final List<JSONObject> lines = readLines(new BufferedReader(
+        new StringReader(new String(out.toByteArray(), StandardCharsets.UTF_8))));
+    assertTweets(tweets, lines);
+    Assert.assertEquals("2010-01-01T12:30:00", lines.get(0).getString("dateTime"));
+  }
+
+  @Test
+  public void fixedRateTest() throws IOException, InterruptedException {
+    final List<Tweet> tweets = tweets(51);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final ReplayStatistics statistics;
+    try (TweetSink sink = new JsonLineTweetSink(out)) {
+      statistics = TweetReplayer.fixedRate(500).replay(tweets.iterator(), sink);
+    }
+
+    Assert.assertEquals(51, statistics.getTweetCount());
+    Assert.assertTrue(statistics.getElapsedNanos() >= TimeUnit.MILLISECONDS.toNanos(100));
+    Assert.assertTrue(statistics.getThroughput() <= 510);
+    assertTweets(tweets, readLines(new BufferedReader(
+        new StringReader(new String(out.toByteArray(), StandardCharsets.UTF_8)))));
+  }
+
+  @Test
+  public void socketTest() throws IOException, InterruptedException, ExecutionException {
+    final List<Tweet> tweets = tweets(100);
+    try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      final CompletableFuture<List<JSONObject>> received = CompletableFuture.supplyAsync(() -> {
+        try (Socket socket = server.accept();
+            BufferedReader reader = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+          return readLines(reader);
+        } catch (final IOException e) {
+          throw new IllegalStateException(e);
+        }
+      });
+
+      try (TweetSink sink = JsonLineTweetSink.of("tcp:" + server.getLocalPort())) {
+        TweetReplayer.accelerated(Double.POSITIVE_INFINITY).replay(tweets.iterator(), sink);
+      }
+      assertTweets(tweets, received.get());
+    }
+  }
+
+  @Test
+  public void readTweetsTest() {
+    final TWIGModelWrapper wrapper = new TWIGModelWrapper();
+    wrapper.addTweetNoAnonymization("b", "second", LocalDateTime.of(2010, 1, 1, 12, 31),
+        Collections.emptyList(), 1);
+    wrapper.addTweetNoAnonymization("a", "first", LocalDateTime.of(2010, 1, 1, 12, 30),
+        Collections.emptyList(), 1);
+
+    final List<Tweet> tweets = TweetReplayer.readTweets(wrapper.getModel());
+    Assert.assertEquals(2, tweets.size());
+    Assert.assertEquals("a", tweets.get(0).getAccountName());
+    Assert.assertEquals("first", tweets.get(0).getContent());
+    Assert.assertEquals(1262349000L, tweets.get(0).getTime());
+    Assert.assertEquals("b", tweets.get(1).getAccountName());
+  }
+
+  @Test
+  public void logToStandardErrorTest() {
+    final PrintStream out = System.out;
+    final PrintStream err = System.err;
+    final ByteArrayOutputStream outBuffer = new ByteArrayOutputStream();
+    final ByteArrayOutputStream errBuffer = new ByteArrayOutputStream();
+    try {
+      System.setOut(new PrintStream(outBuffer, true));
+      System.setErr(new PrintStream(errBuffer, true));
+      TweetReplayer.logToStandardError();
+      LogManager.getLogger(TweetReplayerTest.class).info("logToStandardErrorTest");
+    } finally {
+      System.setOut(out);
+      System.setErr(err);
+      System.clearProperty(TweetReplayer.LOG_TARGET_PROPERTY);
+      ((LoggerContext) LogManager.getContext(false)).reconfigure();
+    }
+
+    Assert.assertFalse(outBuffer.toString().contains("logToStandardErrorTest"));
+    Assert.assertTrue(errBuffer.toString().contains("logToStandardErrorTest"));
+  }
+
+  @Test
+  public void automatonSourceTest() throws IOException {
+    final WordMatrix wordMatrix = new WordMatrix();
+    wordMatrix.alterFrequency("", "a", 1);
+    wordMatrix.alterFrequency("a", "b", 1);
+    wordMatrix.alterFrequency("b", "", 1);
+    final TimeCounter timeCounter = new TimeCounter();
+    timeCounter.addTimestamps(LocalDateTime.of(2010, 1, 1, 13, 37), 3);
+    timeCounter.addTimestamps(LocalDateTime.of(2010, 1, 1, 0, 0), 1);
+    final File snapshot = folder.newFile();
+    ModelSnapshot.write(wordMatrix, new ExponentialLikeDistribution(-0.1), timeCounter, snapshot);
+
+    final File out = folder.newFile();
+    TweetReplayer.main(new String[] {TweetReplayer.AUTOMATON_SOURCE, snapshot.getPath(), "5", "3",
+        "2010-01-01", "1", out.getPath(), "speedup", "Infinity"});
+
+    final List<Tweet> expected = new ArrayList<>();
+    try (ModelSnapshot model = ModelSnapshot.open(snapshot)) {
+      new Automaton(model.getWordSampler(), model.getTweetNumberDistribution(),
+          model.getTweetTimeDistribution(), folder.newFolder())
+              .timeOrderedIterator(5, Duration.ofDays(3), LocalDate.of(2010, 1, 1), 1)
+              .forEachRemaining(expected::add);
+    }
+    Assert.assertFalse(expected.isEmpty());
+    try (BufferedReader reader = Files.newBufferedReader(out.toPath(), StandardCharsets.UTF_8)) {
+      assertTweets(expected, readLines(reader));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void insufficientAutomatonArgumentsTest() {
+    TweetReplayer.main(new String[] {TweetReplayer.AUTOMATON_SOURCE, "snapshot", "5", "3",
+        "2010-01-01", "1", "-", "speedup"});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidRateTest() {
+    TweetReplayer.fixedRate(0);
+  }
+}
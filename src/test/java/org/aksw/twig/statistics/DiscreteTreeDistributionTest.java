@@ -3,6 +3,7 @@ package org.aksw.twig.statistics;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Random;
 
 public class DiscreteTreeDistributionTest {
@@ -31,6 +32,50 @@ public class DiscreteTreeDistributionTest {
     Assert.assertEquals(new Integer(4), distribution.sample(testRandom));
   }
 
+  @Test
+  public void bulkTest() {
+    SamplingDiscreteTreeDistribution<Integer> distribution =
+        new SamplingDiscreteTreeDistribution<>();
+    distribution.addDiscreteEvent(1, 0.25);
+    distribution.addDiscreteEvents(Arrays.asList(2, 3), new double[] {0.25, 0.25});
+    try {
+      distribution.addDiscreteEvents(Arrays.asList(4, 5), new double[] {0.2, 0});
+      Assert.fail();
+    } catch (IllegalArgumentException e) {
+      // no event has been added
+    }
+    distribution.addDiscreteEvents(Arrays.asList(4), new double[] {0.25});
+
+    Random testRandom = new TestRandom();
+
+    Assert.assertEquals(new Integer(1), distribution.sample(testRandom));
+    Assert.assertEquals(new Integer(2), distribution.sample(testRandom));
+    Assert.assertEquals(new Integer(3), distribution.sample(testRandom));
+    Assert.assertEquals(new Integer(4), distribution.sample(testRandom));
+  }
+
+  @Test
+  public void sealTest() {
+    SamplingDiscreteTreeDistribution<Integer> distribution =
+        new SamplingDiscreteTreeDistribution<>();
+    distribution.addDiscreteEvents(Arrays.asList(1, 2, 3, 4),
+        new double[] {0.25, 0.25, 0.25, 0.25});
+    distribution.seal();
+    try {
+      distribution.addDiscreteEvents(Arrays.asList(5), new double[] {0.1});
+      Assert.fail();
+    } catch (IllegalStateException e) {
+      // sealed
+    }
+
+    Random testRandom = new TestRandom();
+
+    Assert.assertEquals(new Integer(1), distribution.sample(testRandom));
+    Assert.assertEquals(new Integer(2), distribution.sample(testRandom));
+    Assert.assertEquals(new Integer(3), distribution.sample(testRandom));
+    Assert.assertEquals(new Integer(4), distribution.sample(testRandom));
+  }
+
   private class TestRandom extends Random {
 
     private double val;
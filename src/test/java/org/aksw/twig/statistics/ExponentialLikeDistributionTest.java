@@ -1,5 +1,8 @@
 package org.aksw.twig.statistics;
 
+import java.util.Random;
+
+import org.apache.commons.math3.stat.inference.ChiSquareTest;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -24,6 +27,49 @@ public class ExponentialLikeDistributionTest {
      */
   }
 
+  @Test
+  public void chiSquareTest() {
+    final ExponentialLikeDistribution d = new ExponentialLikeDistribution(-0.2);
+    final Random r = new Random(1);
+    final int samples = 100000;
+
+    // events 0 to 29 and one bucket for all greater events
+    final double[] expected = new double[31];
+    for (int x = 0; x < 30; x++) {
+      expected[x] = d.probability(x) * samples;
+    }
+    expected[30] = (1 - d.cumulativeProbability(29)) * samples;
+
+    final long[] observed = new long[31];
+    for (int i = 0; i < samples; i++) {
+      observed[Math.min(d.sample(r), 30)]++;
+    }
+    Assert.assertFalse(new ChiSquareTest().chiSquareTest(expected, observed, 0.001));
+  }
+
+  @Test
+  public void bulkTest() {
+    final ExponentialLikeDistribution d = new ExponentialLikeDistribution(-0.1);
+    final int[] values = new int[1000];
+    d.sample(values.length, new Random(1), values);
+
+    final Random r = new Random(1);
+    for (int value : values) {
+      Assert.assertEquals(d.sampleInt(r), value);
+    }
+  }
+
+  @Test
+  public void inversionTest() {
+    final ExponentialLikeDistribution d = new ExponentialLikeDistribution(-0.5);
+    // P(X <= 0) = 1 - e^-0.5 = 0.393...
+    Assert.assertEquals(new Integer(0), d.sample(new FixedRandom(0)));
+    Assert.assertEquals(new Integer(0), d.sample(new FixedRandom(0.39)));
+    Assert.assertEquals(new Integer(1), d.sample(new FixedRandom(0.4)));
+    Assert.assertEquals(new Integer(Integer.MAX_VALUE - 1),
+        new ExponentialLikeDistribution(-Double.MIN_NORMAL).sample(new FixedRandom(0.5)));
+  }
+
   @Test
   public void probabilityTest() {
     ExponentialLikeDistribution d = new ExponentialLikeDistribution(Math.random() * -1d - 0.01);
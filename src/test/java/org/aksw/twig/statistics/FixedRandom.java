@@ -0,0 +1,23 @@
+package org.aksw.twig.statistics;
+
+import java.util.Random;
+
+/**
+ * Random number generator whose {@link #nextDouble()} always returns the same value, so tests can
+ * choose the event a distribution samples.
+ */
+class FixedRandom extends Random {
+
+  private static final long serialVersionUID = -4180265113432384862L;
+
+  private final double value;
+
+  FixedRandom(final double value) {
+    this.value = value;
+  }
+
+  @Override
+  public double nextDouble() {
+    return value;
+  }
+}
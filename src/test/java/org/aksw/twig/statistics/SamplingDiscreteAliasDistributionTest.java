@@ -0,0 +1,91 @@
+package org.aksw.twig.statistics;
+
+import java.util.Random;
+
+import org.apache.commons.math3.stat.inference.ChiSquareTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SamplingDiscreteAliasDistributionTest {
+
+  private static final int SAMPLES = 100000;
+
+  private static final double SIGNIFICANCE = 0.001;
+
+  @Test
+  public void emptyTest() {
+    Assert.assertNull(new SamplingDiscreteAliasDistribution<Integer>().sample());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void fullTest() {
+    final SamplingDiscreteAliasDistribution<Integer> distribution =
+        new SamplingDiscreteAliasDistribution<>();
+    distribution.addDiscreteEvent(1, 1);
+    distribution.addDiscreteEvent(2, 0.1);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void sealTest() {
+    final SamplingDiscreteAliasDistribution<Integer> distribution =
+        new SamplingDiscreteAliasDistribution<>();
+    distribution.addDiscreteEvent(1, 0.5);
+    distribution.seal();
+    Assert.assertEquals(new Integer(1), distribution.sample());
+    distribution.addDiscreteEvent(2, 0.5);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void deltaTest() {
+    new SamplingDiscreteAliasDistribution<Integer>(0.01).addDiscreteEvent(1, 1.1);
+  }
+
+  @Test
+  public void chiSquareTest() {
+    final double[] chances = new double[] {0.05, 0.1, 0.2, 0.15, 0.001, 0.3, 0.199};
+    assertEquivalent(chances, chances, 0);
+  }
+
+  @Test
+  public void remainderTest() {
+    // aggregated chance 0.9: the last event gets the remaining 0.1
+    assertEquivalent(new double[] {0.3, 0.4, 0.2}, new double[] {0.3, 0.4, 0.3}, 0);
+    // aggregated chance 1.05: the last event loses 0.05
+    assertEquivalent(new double[] {0.5, 0.3, 0.25}, new double[] {0.5, 0.3, 0.2}, 0.1);
+  }
+
+  /**
+   * Samples distributions of both types and checks by chi-square tests whether they fit the
+   * expected chances and each other.
+   */
+  private void assertEquivalent(final double[] chances, final double[] expectedChances,
+      final double delta) {
+    final long[] tree = sample(SamplingDiscreteDistributionType.TREE, chances, delta);
+    final long[] alias = sample(SamplingDiscreteDistributionType.ALIAS, chances, delta);
+
+    final double[] expected = new double[chances.length];
+    for (int i = 0; i < chances.length; i++) {
+      expected[i] = expectedChances[i] * SAMPLES;
+    }
+
+    final ChiSquareTest test = new ChiSquareTest();
+    Assert.assertFalse(test.chiSquareTest(expected, tree, SIGNIFICANCE));
+    Assert.assertFalse(test.chiSquareTest(expected, alias, SIGNIFICANCE));
+    Assert.assertFalse(test.chiSquareTestDataSetsComparison(tree, alias, SIGNIFICANCE));
+  }
+
+  private long[] sample(final SamplingDiscreteDistributionType type, final double[] chances,
+      final double delta) {
+    final MutableSamplingDiscreteDistribution<Integer> distribution = type.create(delta);
+    for (int i = 0; i < chances.length; i++) {
+      distribution.addDiscreteEvent(i, chances[i]);
+    }
+
+    final Random r = new Random(1);
+    final long[] counts = new long[chances.length];
+    for (int i = 0; i < SAMPLES; i++) {
+      counts[distribution.sample(r)]++;
+    }
+    return counts;
+  }
+}
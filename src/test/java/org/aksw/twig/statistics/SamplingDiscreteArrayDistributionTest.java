@@ -0,0 +1,57 @@
+package org.aksw.twig.statistics;
+
+import java.util.Random;
+
+import org.apache.commons.math3.stat.inference.ChiSquareTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SamplingDiscreteArrayDistributionTest {
+
+  @Test
+  public void emptyTest() {
+    Assert.assertNull(new SamplingDiscreteArrayDistribution<Integer>().sample());
+    Assert.assertNull(new SamplingDiscreteTreeDistribution<Integer>().freeze().sample());
+  }
+
+  @Test
+  public void freezeTest() {
+    final SamplingDiscreteTreeDistribution<Integer> tree =
+        new SamplingDiscreteTreeDistribution<>();
+    // aggregated chance stays below 1, so the last event gets the remaining chance
+    final double[] chances = new double[] {0.1, 0.05, 0.2, 0.15, 0.001, 0.3, 0.099};
+    for (int i = 0; i < chances.length; i++) {
+      tree.addDiscreteEvent(i, chances[i]);
+    }
+    final SamplingDiscreteArrayDistribution<Integer> array = tree.freeze();
+    Assert.assertEquals(chances.length, array.size());
+
+    // both distributions map each random value to the same event
+    final Random r = new Random(1);
+    for (int i = 0; i < 10000; i++) {
+      final long seed = r.nextLong();
+      Assert.assertEquals(tree.sample(new Random(seed)), array.sample(new Random(seed)));
+    }
+    Assert.assertEquals(new Integer(0), array.sample(new FixedRandom(0)));
+    Assert.assertEquals(new Integer(1), array.sample(new FixedRandom(0.1)));
+    Assert.assertEquals(new Integer(6), array.sample(new FixedRandom(0.95)));
+  }
+
+  @Test
+  public void chiSquareTest() {
+    final MutableSamplingDiscreteDistribution<Integer> distribution =
+        SamplingDiscreteDistributionType.ARRAY.create(0.0001);
+    final double[] expected = new double[100];
+    for (int i = 0; i < expected.length; i++) {
+      distribution.addDiscreteEvent(i, (i + 1) / 5050d);
+      expected[i] = (i + 1) / 5050d;
+    }
+
+    final Random r = new Random(1);
+    final long[] counts = new long[expected.length];
+    for (int i = 0; i < 100000; i++) {
+      counts[distribution.sample(r)]++;
+    }
+    Assert.assertFalse(new ChiSquareTest().chiSquareTest(expected, counts, 0.001));
+  }
+}
@@ -0,0 +1,75 @@
+package org.aksw.twig.statistics;
+
+import java.util.Random;
+
+import org.apache.commons.math3.stat.inference.ChiSquareTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SamplingDiscreteIntArrayDistributionTest {
+
+  @Test
+  public void emptyTest() {
+    final SamplingDiscreteIntArrayDistribution distribution =
+        SamplingDiscreteIntArrayDistribution.of(new long[] {0, 0});
+    Assert.assertEquals(0, distribution.size());
+    Assert.assertNull(distribution.sample());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void emptyIntTest() {
+    SamplingDiscreteIntArrayDistribution.of(new long[0]).sampleInt(new Random());
+  }
+
+  @Test
+  public void bulkTest() {
+    final long[] frequencies = new long[] {5, 0, 1, 10, 0, 0, 4};
+    final SamplingDiscreteIntArrayDistribution distribution =
+        SamplingDiscreteIntArrayDistribution.of(frequencies);
+    Assert.assertEquals(4, distribution.size());
+
+    final int samples = 100000;
+    final int[] values = new int[samples];
+    distribution.sample(samples, new Xoroshiro128PlusRandom(1), values);
+
+    // bulk sampling draws the same values as single sampling
+    final Random r = new Xoroshiro128PlusRandom(1);
+    final long[] observed = new long[frequencies.length];
+    for (int i = 0; i < samples; i++) {
+      Assert.assertEquals(distribution.sampleInt(r), values[i]);
+      observed[values[i]]++;
+    }
+
+    // storing into a long[] draws the same values
+    final long[] longValues = new long[samples];
+    distribution.sample(samples, new Xoroshiro128PlusRandom(1), longValues);
+    for (int i = 0; i < samples; i++) {
+      Assert.assertEquals(values[i], longValues[i]);
+    }
+
+    // chi-square test over all values with a chance greater than 0
+    Assert.assertEquals(0, observed[1] + observed[4] + observed[5]);
+    final int[] possible = new int[] {0, 2, 3, 6};
+    final double[] possibleExpected = new double[possible.length];
+    final long[] possibleObserved = new long[possible.length];
+    for (int i = 0; i < possible.length; i++) {
+      possibleExpected[i] = (frequencies[possible[i]] / 20d) * samples;
+      possibleObserved[i] = observed[possible[i]];
+    }
+    Assert.assertFalse(new ChiSquareTest().chiSquareTest(possibleExpected, possibleObserved,
+        0.001));
+  }
+
+  @Test
+  public void boxedBulkTest() {
+    final SamplingDiscreteDistribution<Integer> distribution =
+        SamplingDiscreteIntArrayDistribution.of(new long[] {1, 2, 3});
+    final Integer[] values = new Integer[100];
+    distribution.sample(values.length, new Xoroshiro128PlusRandom(1), values);
+
+    final Random r = new Xoroshiro128PlusRandom(1);
+    for (Integer value : values) {
+      Assert.assertEquals(distribution.sample(r), value);
+    }
+  }
+}
@@ -1,5 +1,12 @@
 package org.aksw.twig.statistics;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
 import org.apache.commons.math3.exception.NullArgumentException;
 import org.apache.jena.ext.com.google.common.base.Function;
 import org.junit.Assert;
@@ -36,6 +43,56 @@ public class SimpleExponentialRegressionTest {
     Assert.assertEquals(f.beta, regression2.getBeta(), this.deviation);
   }
 
+  @Test
+  public void mergeTest() throws IOException, ClassNotFoundException {
+    ExpFunction f = new ExpFunction(3, -0.2);
+    Random r = new Random(1);
+
+    SimpleExponentialRegression whole = new SimpleExponentialRegression();
+    SimpleExponentialRegression part1 = new SimpleExponentialRegression();
+    SimpleExponentialRegression part2 = new SimpleExponentialRegression();
+    for (int i = 0; i < DATA_SET_SIZE; i++) {
+      double fValue = f.apply((double) i) * (1 + (r.nextDouble() / 10));
+      whole.addData(i, fValue);
+      (i % 3 == 0 ? part1 : part2).addData(i, fValue);
+    }
+
+    // merge a serialized part like it would be done across processes
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(part2);
+    }
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      part1.merge((SimpleExponentialRegression) in.readObject());
+    }
+
+    Assert.assertEquals(whole.getN(), part1.getN());
+    Assert.assertEquals(whole.getAlpha(), part1.getAlpha(), this.deviation);
+    Assert.assertEquals(whole.getBeta(), part1.getBeta(), this.deviation);
+    Assert.assertEquals(whole.getSumSquaredErrors(), part1.getSumSquaredErrors(), this.deviation);
+    Assert.assertEquals(whole.getRSquare(), part1.getRSquare(), this.deviation);
+  }
+
+  @Test
+  public void goodnessOfFitTest() {
+    ExpFunction f = new ExpFunction(2, -0.1);
+    SimpleExponentialRegression exact = new SimpleExponentialRegression();
+    SimpleExponentialRegression noisy = new SimpleExponentialRegression();
+    for (int i = 0; i < DATA_SET_SIZE; i++) {
+      exact.addData(i, f.apply((double) i));
+      noisy.addData(i, f.apply((double) i) * (i % 2 == 0 ? 2 : 0.5));
+    }
+
+    Assert.assertEquals(1, exact.getRSquare(), this.deviation);
+    Assert.assertEquals(0, exact.getSumSquaredErrors(), this.deviation);
+    Assert.assertEquals(0, exact.getMeanSquareError(), this.deviation);
+    Assert.assertTrue(noisy.getRSquare() < exact.getRSquare());
+    // every point is off by log(2) on the logarithmized y-axis
+    Assert.assertEquals(Math.log(2) * Math.log(2) * DATA_SET_SIZE, noisy.getSumSquaredErrors(),
+        0.01);
+  }
+
   private class ExpFunction implements Function<Double, Double> {
     private double alpha, beta;
 
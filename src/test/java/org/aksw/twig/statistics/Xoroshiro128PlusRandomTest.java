@@ -0,0 +1,86 @@
+package org.aksw.twig.statistics;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.apache.commons.math3.stat.inference.ChiSquareTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Xoroshiro128PlusRandomTest {
+
+  @Test
+  public void seedTest() {
+    final Random r1 = new Xoroshiro128PlusRandom(1);
+    final Random r2 = new Xoroshiro128PlusRandom(1);
+    for (int i = 0; i < 100; i++) {
+      Assert.assertEquals(r1.nextLong(), r2.nextLong());
+    }
+
+    r1.setSeed(2);
+    final long value = r1.nextLong();
+    r1.setSeed(2);
+    Assert.assertEquals(value, r1.nextLong());
+    Assert.assertNotEquals(value, new Xoroshiro128PlusRandom(3).nextLong());
+  }
+
+  @Test
+  public void splitTest() {
+    final Xoroshiro128PlusRandom r = new Xoroshiro128PlusRandom(1);
+    final Xoroshiro128PlusRandom copy = new Xoroshiro128PlusRandom(1);
+    final Xoroshiro128PlusRandom split = r.split();
+
+    // the split generator continues the sequence, the original one jumped ahead
+    final Set<Long> values = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      final long value = split.nextLong();
+      Assert.assertEquals(copy.nextLong(), value);
+      values.add(value);
+    }
+    for (int i = 0; i < 1000; i++) {
+      Assert.assertFalse(values.contains(r.nextLong()));
+    }
+  }
+
+  @Test
+  public void streamTest() {
+    Assert.assertEquals(Xoroshiro128PlusRandom.forStream(1, 5).nextLong(),
+        Xoroshiro128PlusRandom.forStream(1, 5).nextLong());
+    Assert.assertNotEquals(Xoroshiro128PlusRandom.forStream(1, 5).nextLong(),
+        Xoroshiro128PlusRandom.forStream(1, 6).nextLong());
+    Assert.assertNotEquals(Xoroshiro128PlusRandom.forStream(1, 5).nextLong(),
+        Xoroshiro128PlusRandom.forStream(2, 5).nextLong());
+  }
+
+  @Test
+  public void neighbouringStreamsTest() {
+    final Set<Long> words = new HashSet<>();
+    for (long index = 0; index < 10000; index++) {
+      for (final long word : Xoroshiro128PlusRandom.forStream(1, index).getState()) {
+        Assert.assertTrue(words.add(word));
+      }
+    }
+  }
+
+  @Test
+  public void uniformityTest() {
+    final Random r = new Xoroshiro128PlusRandom(1);
+    final double[] expected = new double[10];
+    final long[] ints = new long[10];
+    final long[] doubles = new long[10];
+    for (int i = 0; i < 100000; i++) {
+      ints[r.nextInt(10)]++;
+      final double value = r.nextDouble();
+      Assert.assertTrue((value >= 0) && (value < 1));
+      doubles[(int) (value * 10)]++;
+    }
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = 10000;
+    }
+
+    final ChiSquareTest test = new ChiSquareTest();
+    Assert.assertFalse(test.chiSquareTest(expected, ints, 0.001));
+    Assert.assertFalse(test.chiSquareTest(expected, doubles, 0.001));
+  }
+}
@@ -3,11 +3,15 @@ package org.aksw.twig.structs;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class AVLTreeTest {
 
@@ -47,16 +51,18 @@ public class AVLTreeTest {
     AVLTree<Integer> tree = new AVLTree<>();
     tree.addAll(Arrays.asList(values));
 
-    Integer[] depthSearchOrder = new Integer[] {4, 2, 1, 3, 6, 5, 7}; // this is the expected order
-                                                                      // for depth search
+    Integer[] ascendingOrder = new Integer[] {1, 2, 3, 4, 5, 6, 7};
     Object[] treeArray = tree.toArray();
     Integer[] integerTreeArray = tree.toArray(new Integer[tree.size()]);
-    Assert.assertEquals(depthSearchOrder.length, treeArray.length);
-    Assert.assertEquals(depthSearchOrder.length, integerTreeArray.length);
-    for (int i = 0; i < depthSearchOrder.length; i++) {
-      Assert.assertEquals(depthSearchOrder[i], treeArray[i]);
-      Assert.assertEquals(depthSearchOrder[i], integerTreeArray[i]);
-    }
+    Assert.assertArrayEquals(ascendingOrder, treeArray);
+    Assert.assertArrayEquals(ascendingOrder, integerTreeArray);
+    Assert.assertEquals(Arrays.asList(ascendingOrder), toList(tree.iterator()));
+
+    // iteration order does not change by freezing
+    tree.freeze();
+    Assert.assertArrayEquals(ascendingOrder, tree.toArray());
+    Assert.assertArrayEquals(ascendingOrder, tree.toArray(new Integer[tree.size()]));
+    Assert.assertEquals(Arrays.asList(ascendingOrder), toList(tree.iterator()));
   }
 
   @Test
@@ -84,6 +90,8 @@ public class AVLTreeTest {
     Integer min = Arrays.stream(values).min((a, b) -> a.compareTo(b)).orElse(null);
     Assert.assertNotEquals(null, min);
     Assert.assertEquals(min, tree.findGreater(min - 1));
+    Assert.assertEquals(new Integer(4), tree.findGreater(3));
+    Assert.assertNull(tree.findGreater(6));
   }
 
   @Test
@@ -101,4 +109,163 @@ public class AVLTreeTest {
           tree.getGreatest());
     }
   }
+
+  @Test
+  public void ofSortedTest() {
+    for (int n = 1; n < 100; n++) {
+      List<Integer> values = new ArrayList<>();
+      for (int i = 0; i < n; i++) {
+        values.add(i);
+      }
+
+      AVLTree<Integer> tree = AVLTree.ofSorted(values);
+      AVLTree<Integer> added = new AVLTree<>();
+      added.addAll(values);
+      Assert.assertEquals(n, tree.size());
+      Assert.assertTrue(tree.containsAll(values));
+      // perfectly balanced
+      Assert.assertEquals(32 - Integer.numberOfLeadingZeros(n), tree.height());
+      Assert.assertTrue(tree.height() <= added.height());
+      for (int i = -1; i < n; i++) {
+        Assert.assertEquals(added.findGreater(i), tree.findGreater(i));
+      }
+
+      // tree stays usable
+      tree.add(n);
+      tree.remove(0);
+      Assert.assertEquals(n, tree.size());
+      Assert.assertEquals(new Integer(n), tree.getGreatest());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ofUnsortedTest() {
+    AVLTree.ofSorted(Arrays.asList(1, 3, 2));
+  }
+
+  @Test
+  public void freezeTest() {
+    List<Integer> values = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      values.add(i / 2); // equal elements
+    }
+    Collections.shuffle(values, new Random(1));
+    AVLTree<Integer> tree = new AVLTree<>();
+    tree.addAll(values);
+    Integer[] greater = new Integer[502];
+    for (int i = -1; i <= 500; i++) {
+      greater[i + 1] = tree.findGreater(i);
+    }
+
+    Assert.assertSame(tree, tree.freeze());
+    Assert.assertTrue(tree.isFrozen());
+    Assert.assertEquals(values.size(), tree.size());
+    Assert.assertEquals(10, tree.height());
+    Assert.assertEquals(new Integer(499), tree.getGreatest());
+    Assert.assertTrue(tree.containsAll(values));
+    Assert.assertFalse(tree.contains(500));
+    for (int i = -1; i <= 500; i++) {
+      Assert.assertEquals(greater[i + 1], tree.findGreater(i));
+    }
+
+    // ascending iteration
+    Collections.sort(values);
+    Assert.assertArrayEquals(values.toArray(), tree.toArray());
+    Assert.assertEquals(values, new ArrayList<>(tree));
+
+    try {
+      tree.add(1);
+      Assert.fail();
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+    try {
+      tree.remove(1);
+      Assert.fail();
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+    try {
+      tree.clear();
+      Assert.fail();
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void concurrentReadTest() {
+    List<Integer> values = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      values.add(i);
+    }
+    AVLTree<Integer> tree = AVLTree.ofSorted(values).freeze();
+
+    Assert.assertTrue(IntStream.range(-1, 9999).parallel()
+        .allMatch(i -> tree.findGreater(i) == (i + 1) && tree.contains(i + 1)));
+    Assert.assertEquals(new Integer(9999), tree.getGreatest());
+  }
+
+  @Test
+  public void inOrderTest() {
+    List<Integer> values = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      values.add(i / 3);
+    }
+    Collections.shuffle(values, new Random(1));
+    AVLTree<Integer> tree = new AVLTree<>();
+    tree.addAll(values);
+    Collections.sort(values);
+
+    List<Integer> inOrder = new ArrayList<>();
+    tree.forEachInOrder(inOrder::add);
+    Assert.assertEquals(values, inOrder);
+
+    Assert.assertEquals(values, toList(tree.cursor(null, null)));
+    List<Integer> reversed = new ArrayList<>(values);
+    Collections.reverse(reversed);
+    Assert.assertEquals(reversed, toList(tree.descendingCursor(null, null)));
+
+    inOrder.clear();
+    tree.freeze().forEachInOrder(inOrder::add);
+    Assert.assertEquals(values, inOrder);
+  }
+
+  @Test
+  public void rangeTest() {
+    Random r = new Random(1);
+    List<Integer> values = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      values.add(r.nextInt(50));
+    }
+    AVLTree<Integer> tree = new AVLTree<>();
+    tree.addAll(values);
+    AVLTree<Integer> frozen = new AVLTree<>();
+    frozen.addAll(values);
+    frozen.freeze();
+    Collections.sort(values);
+
+    for (int lower = -1; lower <= 51; lower += 4) {
+      for (int upper = lower; upper <= 52; upper += 3) {
+        final int from = lower;
+        final int to = upper;
+        List<Integer> expected =
+            values.stream().filter(x -> (x >= from) && (x < to)).collect(Collectors.toList());
+        Assert.assertEquals(expected, toList(tree.cursor(lower, upper)));
+        Assert.assertEquals(expected, toList(frozen.cursor(lower, upper)));
+
+        Collections.reverse(expected);
+        Assert.assertEquals(expected, toList(tree.descendingCursor(lower, upper)));
+        Assert.assertEquals(expected, toList(frozen.descendingCursor(lower, upper)));
+      }
+    }
+
+    Assert.assertFalse(new AVLTree<Integer>().cursor(null, null).hasNext());
+  }
+
+  private static List<Integer> toList(Iterator<Integer> iterator) {
+    List<Integer> list = new ArrayList<>();
+    iterator.forEachRemaining(list::add);
+    return list;
+  }
 }
@@ -0,0 +1,91 @@
+package org.aksw.twig.structs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Compares lookups per second and bytes per entry of {@link DoubleEytzingerTree} and
+ * {@link AVLTree}{@code <Double>} holding aggregated chances. Results are logged only since they
+ * depend on the machine. The benchmark runs only if the system property {@code twig.benchmark} is
+ * {@code true}, e. g. by {@code mvn test -Dtwig.benchmark=true}.
+ */
+public class DoubleEytzingerTreeBenchmarkTest {
+
+  private static final Logger LOGGER = LogManager.getLogger(DoubleEytzingerTreeBenchmarkTest.class);
+
+  private static final int KEYS = 1 << 20;
+
+  private static final int LOOKUPS = 2000000;
+
+  @Before
+  public void benchmarkEnabled() {
+    Assume.assumeTrue(Boolean.getBoolean("twig.benchmark"));
+  }
+
+  @Test
+  public void lookupBenchmark() {
+    final double[] keys = new double[KEYS];
+    for (int i = 0; i < KEYS; i++) {
+      keys[i] = (i + 1d) / KEYS;
+    }
+
+    long memory = usedMemory();
+    final DoubleEytzingerTree eytzingerTree = DoubleEytzingerTree.ofSorted(keys);
+    final long eytzingerBytes = usedMemory() - memory;
+
+    final List<Double> boxed = new ArrayList<>(KEYS);
+    for (double key : keys) {
+      boxed.add(key);
+    }
+    memory = usedMemory();
+    final AVLTree<Double> avlTree = AVLTree.ofSorted(boxed);
+    final long avlBytes = usedMemory() - memory;
+    boxed.clear();
+
+    final double eytzingerRate = lookups(r -> eytzingerTree.findGreater(r.nextDouble()));
+    final double avlRate = lookups(r -> avlTree.findGreater(r.nextDouble()));
+
+    LOGGER.info("DoubleEytzingerTree: {} lookups per second, {} bytes per entry",
+        Math.round(eytzingerRate), eytzingerBytes / KEYS);
+    LOGGER.info("AVLTree<Double>: {} lookups per second, {} bytes per entry (without keys)",
+        Math.round(avlRate), avlBytes / KEYS);
+    Assert.assertEquals(KEYS, eytzingerTree.size());
+    Assert.assertEquals(KEYS, avlTree.size());
+  }
+
+  private static double lookups(final Lookup lookup) {
+    final Random r = new Random(1);
+    // warm up
+    double sum = 0;
+    for (int i = 0; i < (LOOKUPS / 10); i++) {
+      sum += lookup.find(r);
+    }
+
+    final long start = System.nanoTime();
+    for (int i = 0; i < LOOKUPS; i++) {
+      sum += lookup.find(r);
+    }
+    final double seconds = (System.nanoTime() - start) / 1e9;
+    Assert.assertTrue(sum > 0);
+    return LOOKUPS / seconds;
+  }
+
+  private static long usedMemory() {
+    final Runtime runtime = Runtime.getRuntime();
+    System.gc();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private interface Lookup {
+
+    double find(Random r);
+  }
+}
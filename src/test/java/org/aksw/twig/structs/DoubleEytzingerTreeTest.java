@@ -0,0 +1,60 @@
+package org.aksw.twig.structs;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DoubleEytzingerTreeTest {
+
+  @Test
+  public void emptyTest() {
+    DoubleEytzingerTree tree = DoubleEytzingerTree.ofSorted(new double[0]);
+    Assert.assertEquals(0, tree.size());
+    Assert.assertTrue(Double.isNaN(tree.findGreater(0)));
+    Assert.assertEquals(-1, tree.indexOfGreater(0));
+    Assert.assertTrue(Double.isNaN(tree.getGreatest()));
+  }
+
+  @Test
+  public void findGreaterTest() {
+    Random r = new Random(1);
+    for (int n = 1; n < 200; n++) {
+      double[] keys = new double[n];
+      for (int i = 0; i < n; i++) {
+        // few distinct values lead to equal keys
+        keys[i] = r.nextInt(n);
+      }
+      Arrays.sort(keys);
+      DoubleEytzingerTree tree = DoubleEytzingerTree.ofSorted(keys);
+
+      Assert.assertEquals(n, tree.size());
+      Assert.assertEquals(keys[n - 1], tree.getGreatest(), 0);
+      for (double toCompare = -1; toCompare <= n; toCompare += 0.5) {
+        int expected = 0;
+        while ((expected < n) && (keys[expected] <= toCompare)) {
+          expected++;
+        }
+
+        if (expected == n) {
+          Assert.assertEquals(-1, tree.indexOfGreater(toCompare));
+          Assert.assertTrue(Double.isNaN(tree.findGreater(toCompare)));
+        } else {
+          Assert.assertEquals(expected, tree.indexOfGreater(toCompare));
+          Assert.assertEquals(keys[expected], tree.findGreater(toCompare), 0);
+        }
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unsortedTest() {
+    DoubleEytzingerTree.ofSorted(new double[] {1, 3, 2});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nanTest() {
+    DoubleEytzingerTree.ofSorted(new double[] {1, Double.NaN});
+  }
+}
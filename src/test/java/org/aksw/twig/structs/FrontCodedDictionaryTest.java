@@ -0,0 +1,96 @@
+package org.aksw.twig.structs;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FrontCodedDictionaryTest {
+
+  @Test
+  public void emptyTest() {
+    FrontCodedDictionary dictionary = FrontCodedDictionary.of(Collections.emptyList());
+    Assert.assertEquals(0, dictionary.size());
+    Assert.assertEquals(-1, dictionary.indexOf("a"));
+  }
+
+  @Test
+  public void readTest() {
+    List<String> words = Arrays.asList("tweet", "", "twitter", "tweets", "#twig", "@twig", "tweet",
+        "über", "😀", "a");
+    FrontCodedDictionary dictionary = FrontCodedDictionary.of(words);
+
+    Assert.assertEquals(9, dictionary.size());
+    Assert.assertEquals(0, dictionary.indexOf(""));
+    Assert.assertEquals("", dictionary.get(0));
+    for (String word : words) {
+      Assert.assertEquals(word, dictionary.get(dictionary.indexOf(word)));
+    }
+    StringBuilder builder = new StringBuilder("x");
+    for (int id = 0; id < dictionary.size(); id++) {
+      builder.setLength(1);
+      Assert.assertEquals("x" + dictionary.get(id), dictionary.appendTo(id, builder).toString());
+    }
+    Assert.assertEquals(-1, dictionary.indexOf("twee"));
+    Assert.assertEquals(-1, dictionary.indexOf("tweetss"));
+  }
+
+  @Test
+  public void manyWordsTest() {
+    Random r = new Random(1);
+    List<String> words = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      words.add(Long.toString(r.nextLong() & 0xFFFFFFL, 7));
+    }
+    FrontCodedDictionary dictionary = FrontCodedDictionary.of(words);
+
+    List<String> sorted = new ArrayList<>(words);
+    Collections.sort(sorted);
+    String last = null;
+    int id = 0;
+    for (String word : sorted) {
+      if (word.equals(last)) {
+        continue;
+      }
+      Assert.assertEquals(word, dictionary.get(id));
+      Assert.assertEquals(id, dictionary.indexOf(word));
+      last = word;
+      id++;
+    }
+    Assert.assertEquals(id, dictionary.size());
+  }
+
+  @Test
+  public void equalHashCodesTest() {
+    // "Aa" and "BB" have equal hash codes, so do "AaAa", "AaBB", "BBAa" and "BBBB"
+    List<String> words = Arrays.asList("Aa", "BB", "AaAa", "BBBB", "AaBB");
+    FrontCodedDictionary dictionary = FrontCodedDictionary.of(words);
+    for (String word : words) {
+      Assert.assertEquals(word, dictionary.get(dictionary.indexOf(word)));
+    }
+    Assert.assertEquals(-1, dictionary.indexOf("BBAa"));
+    Assert.assertEquals(-1, dictionary.indexOf("C#"));
+  }
+
+  @Test
+  public void multiByteTest() {
+    List<String> words = Arrays.asList("\u00e4", "\u20ac", "\ud83d\ude00", "a\ud800b", "a?b");
+    FrontCodedDictionary dictionary = FrontCodedDictionary.of(words);
+    for (String word : words) {
+      Assert.assertEquals(new String(word.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8),
+          dictionary.get(dictionary.indexOf(word)));
+    }
+    Assert.assertEquals(-1, dictionary.indexOf("\ud83d"));
+    Assert.assertEquals(-1, dictionary.indexOf("\u00e4\u00e4"));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void outOfBoundsTest() {
+    FrontCodedDictionary.of(Arrays.asList("a", "b")).get(2);
+  }
+}